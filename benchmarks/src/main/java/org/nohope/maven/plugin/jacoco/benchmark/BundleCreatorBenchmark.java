@@ -0,0 +1,63 @@
+package org.nohope.maven.plugin.jacoco.benchmark;
+
+import org.apache.maven.project.MavenProject;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.nohope.maven.plugin.jacoco.internal.BundleCreator;
+import org.nohope.maven.plugin.jacoco.internal.ExecutionDataLoader;
+import org.nohope.maven.plugin.jacoco.internal.FileFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Analysis of every module with {@link BundleCreator}.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public class BundleCreatorBenchmark extends ReactorBenchmark {
+
+    /** Threads analyzing class files of a module, as {@code classAnalysisThreads}. */
+    @Param({"1", "4"})
+    public int threads;
+
+    /** Class files per parallel task, as {@code classAnalysisChunkSize}. */
+    @Param("256")
+    public int chunkSize;
+
+    private final List<MavenProject> projects = new ArrayList<>();
+    private ExecutionDataStore store;
+    private ForkJoinPool pool;
+
+    @Override
+    protected void setUp() throws IOException {
+        for (final SyntheticReactor.Module module : reactor.getModules()) {
+            projects.add(createProject(module));
+        }
+        store = new ExecutionDataLoader(1, Long.MAX_VALUE).load(reactor.getExecFiles()).getExecutionDataStore();
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+    }
+
+    @Override
+    protected void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void createBundle(final Blackhole blackhole) throws IOException {
+        final FileFilter filter = new FileFilter(Collections.<String>emptyList(), Collections.<String>emptyList());
+        for (final MavenProject project : projects) {
+            final BundleCreator creator = new BundleCreator(project, filter);
+            creator.setPool(pool, chunkSize);
+            blackhole.consume(creator.createBundle(store));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.nohope.maven.plugin.jacoco.benchmark;
+
+import org.jacoco.core.tools.ExecFileLoader;
+import org.nohope.maven.plugin.jacoco.internal.ExecutionDataLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Merging of execution data files of the whole reactor, as done for root
+ * report.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public class ExecutionDataBenchmark extends ReactorBenchmark {
+
+    /** Threads reading files, as {@code loadThreads}. */
+    @Param({"1", "4"})
+    public int threads;
+
+    /** Size starting from which files are mapped, as {@code mappedLoadThreshold}. */
+    @Param("16777216")
+    public long mappedLoadThreshold;
+
+    /**
+     * Baseline: every file read into a single loader one after another.
+     */
+    @Benchmark
+    public ExecFileLoader sequential() throws IOException {
+        final ExecFileLoader loader = new ExecFileLoader();
+        for (final File file : reactor.getExecFiles()) {
+            loader.load(file);
+        }
+        return loader;
+    }
+
+    @Benchmark
+    public ExecFileLoader executionDataLoader() throws IOException {
+        return new ExecutionDataLoader(threads, mappedLoadThreshold).load(reactor.getExecFiles());
+    }
+}
@@ -0,0 +1,91 @@
+package org.nohope.maven.plugin.jacoco.benchmark;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base of benchmarks working on a generated reactor. Reactor shape is set
+ * with {@code -p modules=..,classes=..,methods=..,sessions=..}.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public abstract class ReactorBenchmark {
+
+    /** Number of modules. */
+    @Param("10")
+    public int modules;
+
+    /** Number of classes per module. */
+    @Param("200")
+    public int classes;
+
+    /** Number of methods per class. */
+    @Param("10")
+    public int methods;
+
+    /** Number of execution data files per module. */
+    @Param("4")
+    public int sessions;
+
+    protected SyntheticReactor reactor;
+
+    @Setup(Level.Trial)
+    public void generateReactor() throws IOException {
+        final File root = Files.createTempDirectory("jacoco-bench").toFile();
+        reactor = SyntheticReactor.generate(root, modules, classes, methods, sessions, 42L);
+        setUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteReactor() throws IOException {
+        tearDown();
+        reactor.delete();
+    }
+
+    /**
+     * Prepares benchmark state once reactor is generated.
+     */
+    protected void setUp() throws IOException {
+    }
+
+    /**
+     * Releases benchmark state before reactor is deleted.
+     */
+    protected void tearDown() throws IOException {
+    }
+
+    protected static MavenProject createProject(final SyntheticReactor.Module module) {
+        final MavenProject project = new MavenProject();
+        project.setGroupId("bench");
+        project.setArtifactId(module.getName());
+        project.setName(module.getName());
+        final Build build = new Build();
+        build.setOutputDirectory(module.getClassesDirectory().getPath());
+        project.getModel().setBuild(build);
+        return project;
+    }
+}
@@ -0,0 +1,140 @@
+package org.nohope.maven.plugin.jacoco.benchmark;
+
+import org.apache.maven.project.MavenProject;
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.tools.ExecFileLoader;
+import org.jacoco.report.FileMultiReportOutput;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.ZipMultiReportOutput;
+import org.jacoco.report.csv.CSVFormatter;
+import org.jacoco.report.html.HTMLFormatter;
+import org.jacoco.report.xml.XMLFormatter;
+import org.nohope.maven.plugin.jacoco.ReportFormat;
+import org.nohope.maven.plugin.jacoco.internal.BundleCreator;
+import org.nohope.maven.plugin.jacoco.internal.ExecutionDataLoader;
+import org.nohope.maven.plugin.jacoco.internal.FileFilter;
+import org.nohope.maven.plugin.jacoco.internal.SourceIndex;
+import org.nohope.maven.plugin.jacoco.internal.SummaryFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Rendering of the root report of an analyzed reactor in a single format.
+ * Analysis is done once in setup, so only formatter and source lookup are
+ * measured.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public class ReportBenchmark extends ReactorBenchmark {
+
+    private static final String ENCODING = "UTF-8";
+
+    @Param({"html", "htmlzip", "xml", "csv", "summary"})
+    public ReportFormat format;
+
+    private final List<IBundleCoverage> bundles = new ArrayList<>();
+    private ExecFileLoader loader;
+    private File outputDirectory;
+
+    @Override
+    protected void setUp() throws IOException {
+        loader = new ExecutionDataLoader(1, Long.MAX_VALUE).load(reactor.getExecFiles());
+        final FileFilter filter = new FileFilter(Collections.<String>emptyList(), Collections.<String>emptyList());
+        for (final SyntheticReactor.Module module : reactor.getModules()) {
+            final MavenProject project = createProject(module);
+            bundles.add(new BundleCreator(project, filter).createBundle(loader.getExecutionDataStore()));
+        }
+        outputDirectory = new File(reactor.getRoot(), "report");
+    }
+
+    @Benchmark
+    public void render() throws IOException {
+        final IReportVisitor visitor = createVisitor();
+        visitor.visitInfo(loader.getSessionInfoStore().getInfos(), loader.getExecutionDataStore().getContents());
+        final IReportGroupVisitor group = visitor.visitGroup("reactor");
+
+        final SourceIndex index = new SourceIndex();
+        final List<SyntheticReactor.Module> modules = reactor.getModules();
+        for (int i = 0; i < modules.size(); i++) {
+            group.visitBundle(bundles.get(i), new Locator(index, modules.get(i).getSourceRoots()));
+        }
+        visitor.visitEnd();
+    }
+
+    private IReportVisitor createVisitor() throws IOException {
+        if (!outputDirectory.exists() && !outputDirectory.mkdirs()) {
+            throw new IOException("Unable to create " + outputDirectory);
+        }
+
+        switch (format) {
+            case xml: {
+                final XMLFormatter formatter = new XMLFormatter();
+                formatter.setOutputEncoding(ENCODING);
+                return formatter.createVisitor(open("jacoco.xml"));
+            }
+            case csv: {
+                final CSVFormatter formatter = new CSVFormatter();
+                formatter.setOutputEncoding(ENCODING);
+                return formatter.createVisitor(open("jacoco.csv"));
+            }
+            case summary:
+                return new SummaryFormatter().createVisitor(open("jacoco-summary.ndjson"));
+            case html:
+                return createHtmlFormatter().createVisitor(new FileMultiReportOutput(outputDirectory));
+            case htmlzip:
+                return createHtmlFormatter().createVisitor(
+                        new ZipMultiReportOutput(new ZipOutputStream(open("jacoco-html.zip"))));
+            default:
+                throw new IllegalStateException("Unsupported format " + format);
+        }
+    }
+
+    private HTMLFormatter createHtmlFormatter() {
+        final HTMLFormatter formatter = new HTMLFormatter();
+        formatter.setOutputEncoding(ENCODING);
+        formatter.setLocale(Locale.ENGLISH);
+        return formatter;
+    }
+
+    private OutputStream open(final String name) throws IOException {
+        return new BufferedOutputStream(new FileOutputStream(new File(outputDirectory, name)));
+    }
+
+    private static final class Locator implements ISourceFileLocator {
+        private final SourceIndex index;
+        private final List<File> roots;
+
+        private Locator(final SourceIndex index, final List<File> roots) {
+            this.index = index;
+            this.roots = roots;
+        }
+
+        @Override
+        public Reader getSourceFile(final String packageName, final String fileName) throws IOException {
+            final File file = index.find(roots, packageName.isEmpty() ? fileName : packageName + '/' + fileName);
+            return file == null ? null : new InputStreamReader(new FileInputStream(file), ENCODING);
+        }
+
+        @Override
+        public int getTabWidth() {
+            return 4;
+        }
+    }
+}
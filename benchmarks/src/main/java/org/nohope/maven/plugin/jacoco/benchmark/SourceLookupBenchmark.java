@@ -0,0 +1,42 @@
+package org.nohope.maven.plugin.jacoco.benchmark;
+
+import org.nohope.maven.plugin.jacoco.internal.SourceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lookup of the source file of every class over module source roots, as
+ * done by report source locator. Index is built from scratch on every
+ * invocation like in a single report pass.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public class SourceLookupBenchmark extends ReactorBenchmark {
+
+    private final List<List<File>> roots = new ArrayList<>();
+    private final List<String> paths = new ArrayList<>();
+
+    @Override
+    protected void setUp() {
+        for (final SyntheticReactor.Module module : reactor.getModules()) {
+            for (final String path : module.getSourcePaths()) {
+                roots.add(module.getSourceRoots());
+                paths.add(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void find(final Blackhole blackhole) throws IOException {
+        final SourceIndex index = new SourceIndex();
+        for (int i = 0; i < paths.size(); i++) {
+            blackhole.consume(index.find(roots.get(i), paths.get(i)));
+        }
+    }
+}
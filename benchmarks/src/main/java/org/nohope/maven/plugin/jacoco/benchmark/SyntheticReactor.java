@@ -0,0 +1,330 @@
+package org.nohope.maven.plugin.jacoco.benchmark;
+
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.instr.Instrumenter;
+import org.jacoco.core.internal.data.CRC64;
+import org.jacoco.core.runtime.IExecutionDataAccessorGenerator;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a reactor of modules with class files, matching sources and
+ * execution data files on disk.
+ * <p>
+ * Every class has a constructor and {@code methods} methods with a single
+ * branch each, compiled with line numbers so reports show source lines.
+ * Execution data holds every class of the reactor with random probes; the
+ * number of sessions per module controls the amount of data to merge.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class SyntheticReactor {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int PACKAGES_PER_MODULE = 8;
+    private static final int FIRST_METHOD_LINE = 4;
+    private static final int LINES_PER_METHOD = 6;
+
+    private final File root;
+    private final List<Module> modules;
+
+    private SyntheticReactor(final File root, final List<Module> modules) {
+        this.root = root;
+        this.modules = Collections.unmodifiableList(modules);
+    }
+
+    /**
+     * @param root
+     *            directory to generate reactor in, created if missing
+     * @param moduleCount
+     *            number of modules
+     * @param classCount
+     *            number of classes per module
+     * @param methodCount
+     *            number of methods per class
+     * @param sessionCount
+     *            number of execution data files per module
+     * @param seed
+     *            random seed for probes, same seed gives same data
+     * @return generated reactor
+     * @throws IOException
+     *             if files can't be written
+     */
+    public static SyntheticReactor generate(final File root,
+                                            final int moduleCount,
+                                            final int classCount,
+                                            final int methodCount,
+                                            final int sessionCount,
+                                            final long seed) throws IOException {
+        final List<Module> modules = new ArrayList<>();
+        final List<ExecutionData> template = new ArrayList<>();
+        for (int m = 0; m < moduleCount; m++) {
+            final Module module = new Module("module" + m, new File(root, "module" + m));
+            for (int c = 0; c < classCount; c++) {
+                final String packageName = "bench/m" + m + "/p" + c % PACKAGES_PER_MODULE;
+                final String simpleName = "C" + c;
+                final byte[] bytes = generateClass(packageName + '/' + simpleName, simpleName + ".java", methodCount);
+
+                write(new File(module.getClassesDirectory(), packageName + '/' + simpleName + ".class"), bytes);
+                writeSource(new File(module.getSourceDirectory(), packageName + '/' + simpleName + ".java"),
+                        packageName, simpleName, methodCount);
+                module.sourcePaths.add(packageName + '/' + simpleName + ".java");
+                template.add(new ExecutionData(CRC64.checksum(bytes), packageName + '/' + simpleName,
+                        probeCount(bytes)));
+            }
+            modules.add(module);
+        }
+
+        final Random random = new Random(seed);
+        for (final Module module : modules) {
+            for (int s = 0; s < sessionCount; s++) {
+                final File file = new File(module.getDirectory(), "target/jacoco-" + s + ".exec");
+                writeExecFile(file, module.getName() + '-' + s, template, random);
+                module.execFiles.add(file);
+            }
+        }
+
+        return new SyntheticReactor(root, modules);
+    }
+
+    public File getRoot() {
+        return root;
+    }
+
+    public List<Module> getModules() {
+        return modules;
+    }
+
+    /**
+     * @return execution data files of every module
+     */
+    public List<File> getExecFiles() {
+        final List<File> result = new ArrayList<>();
+        for (final Module module : modules) {
+            result.addAll(module.getExecFiles());
+        }
+        return result;
+    }
+
+    /**
+     * Removes generated files.
+     *
+     * @throws IOException
+     *             if files can't be removed
+     */
+    public void delete() throws IOException {
+        if (!root.exists()) {
+            return;
+        }
+        Files.walkFileTree(root.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException e) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static byte[] generateClass(final String name, final String sourceFile, final int methodCount) {
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, "java/lang/Object", null);
+        writer.visitSource(sourceFile, null);
+
+        final MethodVisitor init = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        line(init, FIRST_METHOD_LINE - 1);
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        for (int i = 0; i < methodCount; i++) {
+            final int first = FIRST_METHOD_LINE + i * LINES_PER_METHOD;
+            final MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, "m" + i, "(I)I", null, null);
+            method.visitCode();
+
+            // if (a > 0) { return a + i; } return -a;
+            final Label negative = new Label();
+            line(method, first + 1);
+            method.visitVarInsn(Opcodes.ILOAD, 1);
+            method.visitJumpInsn(Opcodes.IFLE, negative);
+            line(method, first + 2);
+            method.visitVarInsn(Opcodes.ILOAD, 1);
+            method.visitLdcInsn(i);
+            method.visitInsn(Opcodes.IADD);
+            method.visitInsn(Opcodes.IRETURN);
+            method.visitLabel(negative);
+            line(method, first + 4);
+            method.visitVarInsn(Opcodes.ILOAD, 1);
+            method.visitInsn(Opcodes.INEG);
+            method.visitInsn(Opcodes.IRETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static void line(final MethodVisitor method, final int line) {
+        final Label label = new Label();
+        method.visitLabel(label);
+        method.visitLineNumber(line, label);
+    }
+
+    private static void writeSource(final File file,
+                                    final String packageName,
+                                    final String simpleName,
+                                    final int methodCount) throws IOException {
+        final StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName.replace('/', '.')).append(";\n\n");
+        source.append("public class ").append(simpleName).append(" {\n");
+        for (int i = 0; i < methodCount; i++) {
+            source.append("    public int m").append(i).append("(int a) {\n");
+            source.append("        if (a > 0) {\n");
+            source.append("            return a + ").append(i).append(";\n");
+            source.append("        }\n");
+            source.append("        return -a;\n");
+            source.append("    }\n");
+        }
+        source.append("}\n");
+
+        mkdirs(file.getParentFile());
+        try (final Writer writer = Files.newBufferedWriter(file.toPath(), UTF_8)) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * Probe count is taken from the instrumenter, so generated execution
+     * data is compatible with analysis of the same class.
+     */
+    private static int probeCount(final byte[] bytes) throws IOException {
+        final int[] count = new int[1];
+        new Instrumenter(new IExecutionDataAccessorGenerator() {
+            @Override
+            public int generateDataAccessor(final long classid,
+                                            final String classname,
+                                            final int probecount,
+                                            final MethodVisitor mv) {
+                count[0] = probecount;
+                mv.visitInsn(Opcodes.ACONST_NULL);
+                return 1;
+            }
+        }).instrument(bytes, "probe count");
+        return count[0];
+    }
+
+    private static void writeExecFile(final File file,
+                                      final String sessionId,
+                                      final List<ExecutionData> template,
+                                      final Random random) throws IOException {
+        mkdirs(file.getParentFile());
+        try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            final ExecutionDataWriter writer = new ExecutionDataWriter(out);
+            writer.visitSessionInfo(new SessionInfo(sessionId, 0, 0));
+            for (final ExecutionData data : template) {
+                final boolean[] probes = new boolean[data.getProbes().length];
+                for (int i = 0; i < probes.length; i++) {
+                    probes[i] = random.nextBoolean();
+                }
+                writer.visitClassExecution(new ExecutionData(data.getId(), data.getName(), probes));
+            }
+        }
+    }
+
+    private static void write(final File file, final byte[] bytes) throws IOException {
+        mkdirs(file.getParentFile());
+        Files.write(file.toPath(), bytes);
+    }
+
+    private static void mkdirs(final File dir) throws IOException {
+        if (!dir.exists() && !dir.mkdirs() && !dir.isDirectory()) {
+            throw new IOException("Unable to create directory " + dir);
+        }
+    }
+
+    /**
+     * Generated module.
+     */
+    public static final class Module {
+        private final String name;
+        private final File directory;
+        private final List<File> execFiles = new ArrayList<>();
+        private final List<String> sourcePaths = new ArrayList<>();
+
+        private Module(final String name, final File directory) {
+            this.name = name;
+            this.directory = directory;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public File getDirectory() {
+            return directory;
+        }
+
+        public File getClassesDirectory() {
+            return new File(directory, "target/classes");
+        }
+
+        public File getSourceDirectory() {
+            return new File(directory, "src/main/java");
+        }
+
+        /**
+         * @return source roots as the plugin lists them, including the
+         *         missing groovy and scala ones
+         */
+        public List<File> getSourceRoots() {
+            final List<File> roots = new ArrayList<>();
+            roots.add(getSourceDirectory());
+            roots.add(new File(directory, "src/main/groovy"));
+            roots.add(new File(directory, "src/main/scala"));
+            return roots;
+        }
+
+        public List<File> getExecFiles() {
+            return Collections.unmodifiableList(execFiles);
+        }
+
+        /**
+         * @return source file of every class relative to source root, as
+         *         report formatters look them up
+         */
+        public List<String> getSourcePaths() {
+            return Collections.unmodifiableList(sourcePaths);
+        }
+    }
+}
@@ -2,23 +2,61 @@ package org.nohope.maven.plugin.jacoco;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.reporting.MavenReportException;
 import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
 import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.SessionInfo;
 import org.jacoco.core.tools.ExecFileLoader;
 import org.jacoco.report.*;
 import org.jacoco.report.csv.CSVFormatter;
 import org.jacoco.report.html.HTMLFormatter;
 import org.jacoco.report.xml.XMLFormatter;
+import org.nohope.maven.plugin.jacoco.internal.AnalysisCache;
+import org.nohope.maven.plugin.jacoco.internal.AsyncFileOutputStream;
+import org.nohope.maven.plugin.jacoco.internal.BundleCache;
 import org.nohope.maven.plugin.jacoco.internal.BundleCreator;
+import org.nohope.maven.plugin.jacoco.internal.ClassOwnership;
+import org.nohope.maven.plugin.jacoco.internal.ConcurrentReportVisitor;
+import org.nohope.maven.plugin.jacoco.internal.CoverageHistory;
+import org.nohope.maven.plugin.jacoco.internal.DiffCoverageFormatter;
+import org.nohope.maven.plugin.jacoco.internal.ExecFileWriter;
+import org.nohope.maven.plugin.jacoco.internal.ExecutionDataPartitioner;
+import org.nohope.maven.plugin.jacoco.internal.ExecutionDataLoader;
 import org.nohope.maven.plugin.jacoco.internal.FileFilter;
+import org.nohope.maven.plugin.jacoco.internal.IncrementalMultiReportOutput;
+import org.nohope.maven.plugin.jacoco.internal.PartialCoverage;
+import org.nohope.maven.plugin.jacoco.internal.Futures;
+import org.nohope.maven.plugin.jacoco.internal.GitDiff;
+import org.nohope.maven.plugin.jacoco.internal.PipelineMetrics;
+import org.nohope.maven.plugin.jacoco.internal.ReportPlan;
+import org.nohope.maven.plugin.jacoco.internal.SessionCompactor;
+import org.nohope.maven.plugin.jacoco.internal.SourceIndex;
+import org.nohope.maven.plugin.jacoco.internal.SummaryFormatter;
+import org.nohope.maven.plugin.jacoco.internal.TrendFormatter;
 
 import java.io.*;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.ZipOutputStream;
 
 import static org.nohope.maven.plugin.jacoco.ReportFormat.*;
 
@@ -93,12 +131,218 @@ public abstract class AbstractJacocoPlugin extends AbstractMojo {
     @Parameter
     protected List<String> excludeModules = Collections.emptyList();
 
+    /**
+     * Number of threads used to analyze reactor modules for the aggregated
+     * report. Bundles are still visited in reactor order.
+     */
+    @Parameter(property = "jacoco.analysisThreads")
+    protected int analysisThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of threads used to analyze class files of a single module.
+     * Values greater than one split each module into chunks of
+     * {@code classAnalysisChunkSize} files analyzed in parallel.
+     */
+    @Parameter(property = "jacoco.classAnalysisThreads")
+    protected int classAnalysisThreads = 1;
+
+    /** Maximum number of class files analyzed by a single parallel task. */
+    @Parameter(property = "jacoco.classAnalysisChunkSize")
+    protected int classAnalysisChunkSize = 256;
+
+    /**
+     * Directory to keep per-class analysis results between builds, e.g.
+     * {@code ${project.build.directory}/jacoco-cache}. Classes whose bytes
+     * and execution data did not change are not analyzed again. Disabled
+     * when not specified.
+     * <p>
+     * Results are kept per JaCoCo version and never evicted, so the
+     * directory grows with every changed class until it is cleaned.
+     */
+    @Parameter(property = "jacoco.analysisCacheDirectory")
+    protected File analysisCacheDirectory;
+
+    /**
+     * Approximate amount of memory in megabytes used to keep module bundles
+     * analyzed during module reports, so root aggregation can reuse them
+     * when execution data of their classes is the same. {@code 0} disables
+     * reuse.
+     */
+    @Parameter(property = "jacoco.bundleCacheSize")
+    protected int bundleCacheSize = 128;
+
+    /** Number of threads used to read execution data files. */
+    @Parameter(property = "jacoco.loadThreads")
+    protected int loadThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Size in bytes starting from which execution data files are memory
+     * mapped. Mapped files stay locked until the mapping is garbage
+     * collected, which on Windows prevents deleting or overwriting them
+     * while the build runs, so there such files are streamed instead.
+     */
+    @Parameter(property = "jacoco.mappedLoadThreshold")
+    protected long mappedLoadThreshold = 16L * 1024 * 1024;
+
+    /**
+     * Drop execution data of classes which are not analyzed for the report
+     * (third-party, test or excluded classes) before rendering and saving
+     * {@code overallCoveragePath}.
+     */
+    @Parameter(property = "jacoco.pruneExecutionData")
+    protected boolean pruneExecutionData = false;
+
+    /**
+     * Write {@code jacoco.xml.gz}, {@code jacoco.csv.gz} and
+     * {@code jacoco-diff.json.gz} instead of plain files.
+     * {@code jacoco-summary.ndjson} is always plain, as its index holds
+     * offsets for seeking.
+     */
+    @Parameter(property = "jacoco.compressReports")
+    protected boolean compressReports = false;
+
+    /** Size in bytes of chunks handed to background report writers. */
+    @Parameter(property = "jacoco.reportBufferSize")
+    protected int reportBufferSize = 1024 * 1024;
+
+    /** Render every report format on its own thread. */
+    @Parameter(property = "jacoco.concurrentRendering")
+    protected boolean concurrentRendering = false;
+
+    /**
+     * Keep a fingerprint manifest next to HTML report and rewrite only
+     * pages whose content has changed since previous run.
+     */
+    @Parameter(property = "jacoco.incrementalHtml")
+    protected boolean incrementalHtml = false;
+
+    /** Do not compress pages of {@code htmlzip} report, trading size for speed. */
+    @Parameter(property = "jacoco.htmlZipStoreOnly")
+    protected boolean htmlZipStoreOnly = false;
+
+    /**
+     * Read classes from module main artifact when it is already packaged
+     * instead of walking output directory.
+     */
+    @Parameter(property = "jacoco.analyzeJar")
+    protected boolean analyzeJar = false;
+
+    /**
+     * Path to an archive (relative to module base directory) to read module
+     * classes from. Output directory is used for modules without it.
+     */
+    @Parameter(property = "jacoco.classesJar")
+    protected String classesJar;
+
+    /**
+     * Record time, I/O, analyzed classes and heap usage of every report
+     * stage per module and format. Results are written to
+     * {@code jacoco-metrics.json} next to the report and summarized in log.
+     */
+    @Parameter(property = "jacoco.metrics")
+    protected boolean metrics = false;
+
+    /**
+     * Build root report holding execution data of only a few modules in
+     * memory at a time. Execution data is split into per-module slices in
+     * root build directory first, every module is analyzed with its own
+     * slice and released once visited, so heap usage follows the largest
+     * module rather than the whole reactor.
+     */
+    @Parameter(property = "jacoco.streamingAggregation")
+    protected boolean streamingAggregation = false;
+
+    /**
+     * Bytes of execution data buffered in memory while slices for
+     * {@code streamingAggregation} are written.
+     */
+    @Parameter(property = "jacoco.sliceBufferSize")
+    protected int sliceBufferSize = 32 * 1024 * 1024;
+
+    /**
+     * Git revision to compute diff coverage against, e.g. the target branch.
+     * When set, only classes compiled from source files changed since
+     * {@code HEAD} forked from this revision (committed or not) are
+     * analyzed, configured {@code includes} are replaced and
+     * {@code excludes} still apply. Line coverage of changed lines is
+     * written to {@code jacoco-diff.json}.
+     * <p>
+     * Classes are matched by source file name: {@code Foo.java} selects
+     * {@code Foo} and its nested classes {@code Foo$*}. Other top-level
+     * classes declared in the same file are not analyzed.
+     */
+    @Parameter(property = "jacoco.diffBase")
+    protected String diffBase;
+
+    /**
+     * Directory with partial coverage files written by the {@code partial}
+     * goal, searched recursively. When set, root report is merged from
+     * these files instead of analyzing class files, so modules may be
+     * built and tested on different machines. Module reports are not
+     * rendered.
+     * <p>
+     * Each file is analyzed against execution data of its own module only
+     * and can't be recounted, so coverage of a module's classes by tests
+     * of other modules is not reported.
+     */
+    @Parameter(property = "jacoco.partialCoverageDirectory")
+    protected File partialCoverageDirectory;
+
+    /**
+     * Number of most recent sessions listed individually. Older sessions
+     * are collapsed into one summary session per {@code sessionGroupPattern}
+     * prefix (and {@code sessionWindow}) while execution data is read, so
+     * reports and merged execution data stay small when coverage is dumped
+     * periodically. Every session is kept when not positive.
+     */
+    @Parameter(property = "jacoco.maxSessions")
+    protected int maxSessions = 0;
+
+    /**
+     * Pattern matching whole session id, its first group is the prefix
+     * sessions are collapsed by. Ids it doesn't match are prefixes by
+     * themselves. By default JaCoCo agent ids {@code host-1a2b3c} are
+     * collapsed by host name.
+     */
+    @Parameter(property = "jacoco.sessionGroupPattern")
+    protected String sessionGroupPattern = "(.*)-[0-9a-f]+";
+
+    /**
+     * Time window in milliseconds collapsed sessions are additionally split
+     * by, according to their start time. Not split when not positive.
+     */
+    @Parameter(property = "jacoco.sessionWindow")
+    protected long sessionWindow = 0;
+
+    /**
+     * Number of latest runs shown by {@code trend} report format, at least
+     * one. Older runs are kept in the history file.
+     */
+    @Parameter(property = "jacoco.historyLength")
+    protected int historyLength = 30;
+
+    /**
+     * Handling of classes found with identical bytes (same JaCoCo class id)
+     * in several modules of the root report: {@code first} reports them in
+     * the first module containing them only, {@code keep} in every module
+     * and {@code fail} fails the report.
+     */
+    @Parameter(property = "jacoco.duplicateClasses")
+    protected DuplicateClassPolicy duplicateClasses = DuplicateClassPolicy.first;
+
+    private PipelineMetrics pipelineMetrics;
+    private GitDiff gitDiff;
+    private ReportPlan plan;
+    private DiffCoverageFormatter diffFormatter;
+    private ClassOwnership classOwnership;
+    private boolean fillBundleCache;
+
     /**
      * This method is called when the report generation is invoked directly as a
      * standalone Mojo.
      */
     @Override
-    public void execute() throws MojoExecutionException {
+    public void execute() throws MojoExecutionException, MojoFailureException {
         if (!canGenerateReport()) {
             return;
         }
@@ -110,45 +354,82 @@ public abstract class AbstractJacocoPlugin extends AbstractMojo {
         }
     }
 
-    private void initializeAndRenderNonHtml() {
-        if (!"pom".equals(project.getPackaging()) && !skipModule && !reportFormats.contains(html)) {
-            try {
-                executeReport(Locale.getDefault(), false);
-            } catch (final IOException | MavenReportException e) {
-                throw new IllegalStateException(e);
-            }
-        }
-    }
-
+    /**
+     * Checks only, reports are rendered by {@link #executeReport(Locale)}.
+     */
     public boolean canGenerateReport() {
         if (skip) {
             getLog().info("Skipping JaCoCo execution");
             return false;
         }
 
-        initializeAndRenderNonHtml();
-
         if (dataFiles == null) {
             getLog().warn("Skipping JaCoCo execution due to missing execution data file");
             return false;
         }
 
-        return !(!skipModule && !reportFormats.contains(html))
-               && !(skipModule && !project.equals(getLastProject()))
-               && !(aggregateRoot && !project.equals(getLastProject()));
+        return getPlan().hasPending(project);
     }
 
     protected void executeReport(final Locale locale) throws MavenReportException {
         try {
-            executeReport(locale, false);
-            if (project.equals(getLastProject())) {
-                executeReport(locale, true);
+            final List<ReportPlan.Step> steps = getPlan().take(project);
+            boolean rootPending = getPlan().hasPendingRoot();
+            for (final ReportPlan.Step step : steps) {
+                rootPending |= step.isRoot();
+            }
+
+            for (final ReportPlan.Step step : steps) {
+                if (!step.isRoot()) {
+                    // bundles are only worth keeping for a root report to come
+                    fillBundleCache = rootPending;
+                    try {
+                        executeReport(locale, false);
+                    } finally {
+                        fillBundleCache = false;
+                    }
+                    continue;
+                }
+                try {
+                    executeReport(locale, true);
+                } finally {
+                    BundleCache.getInstance().clear();
+                }
             }
         } catch (final IOException e) {
             throw new MavenReportException("Error while creating report: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Module reports are owned by their modules, the root report by the
+     * last reactor project, after its own module report.
+     *
+     * @return plan of this goal execution, computed on first use
+     */
+    private ReportPlan getPlan() {
+        if (plan == null) {
+            plan = new ReportPlan();
+            if (!skipModule && partialCoverageDirectory == null) {
+                for (final MavenProject child : reactorProjects) {
+                    if (hasClasses(child)) {
+                        plan.add(child, child, false);
+                    }
+                }
+            }
+            if (aggregateRoot) {
+                plan.add(getLastProject(), getRootProject(), true);
+            }
+
+            if (getLog().isDebugEnabled()) {
+                for (final String line : plan.describe()) {
+                    getLog().debug(line);
+                }
+            }
+        }
+        return plan;
+    }
+
     private MavenProject getLastProject() {
         final int size = reactorProjects.size();
         return reactorProjects.get(size - 1);
@@ -156,68 +437,441 @@ public abstract class AbstractJacocoPlugin extends AbstractMojo {
 
     private void executeReport(final Locale locale, final boolean root)
             throws IOException, MavenReportException {
+        final ForkJoinPool pool = createAnalysisPool();
+        final List<Closeable> outputs = new ArrayList<>();
+        pipelineMetrics = metrics ? new PipelineMetrics() : null;
+        boolean completed = false;
+        try {
+            executeReport(locale, root, pool, outputs);
+            completed = true;
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            try {
+                closeOutputs(outputs, completed);
+            } finally {
+                if (completed && pipelineMetrics != null) {
+                    reportMetrics(getOutputDirectory(root ? getRootProject() : project));
+                }
+                pipelineMetrics = null;
+                diffFormatter = null;
+                stopClassOwnership();
+            }
+        }
+    }
 
-        final boolean exec = root ? aggregateRoot : !skipModule;
-        if (!exec) {
-            return;
+    private void reportMetrics(final File outputDirectory) throws IOException {
+        final File file = new File(outputDirectory, "jacoco-metrics.json");
+        pipelineMetrics.write(file);
+        for (final String line : pipelineMetrics.summary()) {
+            getLog().info(line);
+        }
+        getLog().info("Report metrics saved to " + file);
+    }
+
+    /**
+     * @return pool for parallel analysis of class files within a module or
+     *         {@code null} if they are analyzed on module thread
+     */
+    protected ForkJoinPool createAnalysisPool() {
+        return classAnalysisThreads > 1
+                ? new ForkJoinPool(classAnalysisThreads)
+                : null;
+    }
+
+    private void closeOutputs(final List<Closeable> outputs, final boolean rethrow) throws IOException {
+        IOException failure = null;
+        for (final Closeable output : outputs) {
+            try {
+                output.close();
+            } catch (final IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            if (rethrow) {
+                throw failure;
+            }
+            getLog().debug("Unable to close report output", failure);
         }
+    }
+
+    private void executeReport(final Locale locale,
+                               final boolean root,
+                               final ForkJoinPool pool,
+                               final List<Closeable> outputs)
+            throws IOException, MavenReportException {
 
         final File outputDirectory = getOutputDirectory(root ? getRootProject() : project);
-        final IReportVisitor mainVisitor = createVisitor(locale, outputDirectory);
+        final List<MavenProject> projects = root
+                ? getAggregatedProjects()
+                : Collections.singletonList(project);
+        final IReportVisitor mainVisitor = createVisitor(locale, outputDirectory, outputs, projects);
+        if (root) {
+            startClassOwnership(projects);
+        }
+        if (root && partialCoverageDirectory != null) {
+            executeMergedReport(mainVisitor, projects);
+            return;
+        }
+        if (root && streamingAggregation) {
+            executeStreamingReport(mainVisitor, pool);
+            return;
+        }
+
         boolean visited = false;
 
-        final ExecFileLoader loader = loadExecutionData(root);
-        mainVisitor.visitInfo(
-                loader.getSessionInfoStore().getInfos(),
-                loader.getExecutionDataStore().getContents());
+        ExecFileLoader loader = loadExecutionData(root);
 
+        final int threads = Math.max(1, Math.min(analysisThreads, projects.size()));
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<IBundleCoverage>> bundles = analyzeProjects(executor, loader, pool, projects);
+            if (pruneExecutionData) {
+                loader = pruneExecutionData(loader, bundles);
+            }
 
-        final List<Pattern> patterns = new ArrayList<>();
-        for (final String excludeModule : excludeModules) {
-            patterns.add(Pattern.compile(excludeModule));
+            mainVisitor.visitInfo(
+                    loader.getSessionInfoStore().getInfos(),
+                    loader.getExecutionDataStore().getContents());
+
+            final IReportGroupVisitor visitor = root
+                    ? mainVisitor.visitGroup(getRootProject().getName())
+                    : mainVisitor;
+
+            final SourceIndex sourceIndex = new SourceIndex();
+            for (int i = 0; i < projects.size(); i++) {
+                final IBundleCoverage bundle = Futures.await(bundles.get(i));
+                if (bundle != null) {
+                    visitBundle(visitor, sourceIndex, projects.get(i), bundle);
+                    visited = true;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
         }
 
-        if (root) {
-            final IReportGroupVisitor subProjectVisitor =
-                    mainVisitor.visitGroup(getRootProject().getName());
-
-            for (final MavenProject child : reactorProjects) {
-                boolean skip = false;
-                for (final Pattern pattern : patterns) {
-                    if (pattern.matcher(child.getArtifactId()).matches()
-                        || pattern.matcher(child.getGroupId() + ':' + child.getArtifactId()).matches()) {
-                        skip = true;
-                        break;
+        if (visited) {
+            mainVisitor.visitEnd();
+            logDiffCoverage();
+            logDuplicateClasses();
+            if (root && overallCoveragePath != null) {
+                final ExecFileLoader data = loader;
+                saveOverallCoverage(new ExecFileWriter.Content() {
+                    @Override
+                    public void writeTo(final OutputStream output) throws IOException {
+                        data.save(output);
+                    }
+                });
+            }
+        }
+    }
+
+    private void logDiffCoverage() {
+        if (diffFormatter != null) {
+            getLog().info(String.format(
+                    "Diff coverage since %s: %d changed lines, %d covered, %d partly covered, %d missed",
+                    diffBase, diffFormatter.getChanged(), diffFormatter.getCovered(),
+                    diffFormatter.getPartlyCovered(), diffFormatter.getMissed()));
+        }
+    }
+
+    /**
+     * Starts reactor-wide class ownership for {@code duplicateClasses}
+     * policy, see {@link #claimClasses(String, IBundleCoverage)}.
+     *
+     * @param projects
+     *            aggregated modules in reactor order
+     */
+    protected void startClassOwnership(final List<MavenProject> projects) {
+        final List<String> ids = new ArrayList<>();
+        for (final MavenProject child : projects) {
+            ids.add(child.getId());
+        }
+        classOwnership = new ClassOwnership(ids);
+    }
+
+    /**
+     * Drops class ownership started by {@link #startClassOwnership(List)}.
+     */
+    protected void stopClassOwnership() {
+        classOwnership = null;
+    }
+
+    protected void logDuplicateClasses() {
+        if (classOwnership == null) {
+            return;
+        }
+        if (classOwnership.getSkipped() == 0 && classOwnership.getDuplicates() == 0) {
+            getLog().debug("No duplicate classes found across modules");
+        } else if (duplicateClasses == DuplicateClassPolicy.keep) {
+            getLog().info(String.format("%d duplicate classes are reported in more than one module",
+                    classOwnership.getDuplicates()));
+        } else {
+            // the split depends on timing of concurrent module analysis
+            getLog().info(String.format(
+                    "Duplicate classes owned by other modules: %d class files not analyzed, %d classes dropped",
+                    classOwnership.getSkipped(), classOwnership.getDuplicates()));
+        }
+    }
+
+    /**
+     * Saves merged execution data to {@code overallCoveragePath} of every
+     * reactor project.
+     */
+    private void saveOverallCoverage(final ExecFileWriter.Content content) throws IOException {
+        final List<File> files = new ArrayList<>();
+        for (final MavenProject child : reactorProjects) {
+            files.add(resolvePath(child, overallCoveragePath));
+        }
+
+        final ExecFileWriter writer = new ExecFileWriter();
+        final PipelineMetrics.Timer timer = startTimer(PipelineMetrics.SAVE, null, null);
+        writer.write(content, files);
+        if (timer != null) {
+            timer.stop(0, writer.getBytesWritten(), 0);
+        }
+        getLog().info(String.format(
+                "Overall coverage saved: %d written, %d linked, %d copied, %d up to date",
+                writer.getWritten(), writer.getLinked(), writer.getCopied(), writer.getSkipped()));
+    }
+
+    /**
+     * Root report pass which keeps execution data of at most
+     * {@code analysisThreads} modules in memory, see
+     * {@link ExecutionDataPartitioner}.
+     */
+    private void executeStreamingReport(final IReportVisitor mainVisitor, final ForkJoinPool pool)
+            throws IOException, MavenReportException {
+        final List<MavenProject> projects = getAggregatedProjects();
+        final File buildDirectory = new File(getRootProject().getBuild().getDirectory());
+        if (!buildDirectory.exists() && !buildDirectory.mkdirs()) {
+            throw new IOException("Unable to create " + buildDirectory);
+        }
+
+        try (final ExecutionDataPartitioner partitioner = new ExecutionDataPartitioner(
+                Files.createTempDirectory(buildDirectory.toPath(), "jacoco-slices").toFile(),
+                projects.size(), sliceBufferSize)) {
+            partitioner.setDropUnassigned(pruneExecutionData);
+            final SessionCompactor compactor = createSessionCompactor();
+            partitioner.setSessionCompactor(compactor);
+            for (int i = 0; i < projects.size(); i++) {
+                final BundleCreator creator = createBundleCreator(projects.get(i), pool,
+                        getClassIncludes(projects.get(i)));
+                if (creator != null) {
+                    final Set<String> names = new HashSet<>();
+                    creator.listClassNames(names);
+                    for (final String name : names) {
+                        partitioner.assign(name, i);
                     }
                 }
+            }
+            partitionExecutionData(partitioner);
+            logCompaction(compactor);
 
-                if (skip) {
-                    continue;
+            mainVisitor.visitInfo(partitioner.getSessionInfos().getInfos(), partitioner.getIndex());
+            final IReportGroupVisitor visitor = mainVisitor.visitGroup(getRootProject().getName());
+
+            boolean visited = false;
+            final int threads = Math.max(1, Math.min(analysisThreads, projects.size()));
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                // only a window of modules is analyzed ahead of the one being
+                // visited, so just as many slices and bundles are reachable
+                final Queue<Future<IBundleCoverage>> window = new ArrayDeque<>();
+                int submitted = 0;
+                final SourceIndex sourceIndex = new SourceIndex();
+                for (int i = 0; i < projects.size(); i++) {
+                    for (; submitted < projects.size() && submitted < i + threads; submitted++) {
+                        final int module = submitted;
+                        window.add(executor.submit(new Callable<IBundleCoverage>() {
+                            @Override
+                            public IBundleCoverage call() throws IOException {
+                                return createBundle(partitioner.load(module), pool, projects.get(module));
+                            }
+                        }));
+                    }
+
+                    final IBundleCoverage bundle = Futures.await(window.remove());
+                    if (bundle != null) {
+                        visitBundle(visitor, sourceIndex, projects.get(i), bundle);
+                        visited = true;
+                    }
                 }
+            } finally {
+                executor.shutdownNow();
+            }
 
-                visited |= visitProject(loader, subProjectVisitor, child);
+            if (visited) {
+                mainVisitor.visitEnd();
+                logDiffCoverage();
+                logDuplicateClasses();
+                if (overallCoveragePath != null) {
+                    saveOverallCoverage(new ExecFileWriter.Content() {
+                        @Override
+                        public void writeTo(final OutputStream output) throws IOException {
+                            partitioner.writeTo(output);
+                        }
+                    });
+                }
             }
-        } else {
-            visited = visitProject(loader, mainVisitor, project);
+        }
+    }
+
+    /**
+     * Root report pass which takes bundles and execution data from
+     * partial coverage files. Bundles are visited in reactor order, those
+     * of modules which are not part of the reactor follow in file order
+     * without sources.
+     */
+    private void executeMergedReport(final IReportVisitor mainVisitor, final List<MavenProject> projects)
+            throws IOException {
+        final List<File> files = new ArrayList<>();
+        if (partialCoverageDirectory.isDirectory()) {
+            Files.walkFileTree(partialCoverageDirectory.toPath(), new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (file.getFileName().toString().endsWith(PartialCoverage.SUFFIX)) {
+                        files.add(file.toFile());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        Collections.sort(files);
+
+        final PipelineMetrics.Timer timer = startTimer(PipelineMetrics.LOAD, null, null);
+        final Map<String, PartialCoverage> partials = new LinkedHashMap<>();
+        final ExecFileLoader loader = new ExecFileLoader();
+        final SessionCompactor compactor = createSessionCompactor();
+        final Set<String> sessions = new HashSet<>();
+        long bytesRead = 0;
+        for (final File file : files) {
+            final PartialCoverage partial = PartialCoverage.read(file);
+            if (partials.put(partial.getProjectId(), partial) != null) {
+                throw new IOException("Partial coverage of " + partial.getProjectId()
+                                      + " found more than once in " + partialCoverageDirectory);
+            }
+            // modules tested in the same job share their sessions
+            for (final SessionInfo info : partial.getSessionInfos().getInfos()) {
+                if (sessions.add(info.getId() + '|' + info.getStartTimeStamp() + '|' + info.getDumpTimeStamp())) {
+                    if (compactor == null) {
+                        loader.getSessionInfoStore().visitSessionInfo(info);
+                    } else {
+                        compactor.visitSessionInfo(info);
+                    }
+                }
+            }
+            partial.getExecutionData().accept(loader.getExecutionDataStore());
+            bytesRead += file.length();
+        }
+        if (compactor != null) {
+            compactor.accept(loader.getSessionInfoStore());
+            logCompaction(compactor);
+        }
+        if (timer != null) {
+            timer.stop(bytesRead, 0, loader.getExecutionDataStore().getContents().size());
+        }
+        getLog().info(String.format("Merged %d partial coverage files: %d bytes, %d sessions, %d classes",
+                files.size(), bytesRead, loader.getSessionInfoStore().getInfos().size(),
+                loader.getExecutionDataStore().getContents().size()));
+
+        mainVisitor.visitInfo(
+                loader.getSessionInfoStore().getInfos(),
+                loader.getExecutionDataStore().getContents());
+        final IReportGroupVisitor visitor = mainVisitor.visitGroup(getRootProject().getName());
+
+        boolean visited = false;
+        final SourceIndex sourceIndex = new SourceIndex();
+        for (final MavenProject child : projects) {
+            final PartialCoverage partial = partials.get(child.getId());
+            if (partial != null) {
+                visitBundle(visitor, sourceIndex, child, partial.getBundle());
+                visited = true;
+            }
+        }
+        for (final MavenProject child : reactorProjects) {
+            // modules left out by excludeModules
+            partials.remove(child.getId());
+        }
+        for (final PartialCoverage partial : partials.values()) {
+            getLog().info("Module " + partial.getProjectId() + " is not part of the reactor, sources are not available");
+            final IBundleCoverage bundle = claimClasses(partial.getProjectId(), partial.getBundle());
+            checkForMissingDebugInformation(bundle);
+            visitor.visitBundle(bundle, new SourceFileCollection(
+                    Collections.<File>emptyList(), sourceEncoding, sourceIndex));
+            visited = true;
         }
 
         if (visited) {
             mainVisitor.visitEnd();
-            if (root && overallCoveragePath != null) {
-                for (final MavenProject child : reactorProjects) {
-                    final File file = resolvePath(child, overallCoveragePath);
-                    final File parentFile = file.getParentFile();
-                    if (!parentFile.exists() && !parentFile.mkdirs()) {
-                        throw new MavenReportException("Unable to create dir " + parentFile);
+            logDiffCoverage();
+            logDuplicateClasses();
+            if (overallCoveragePath != null) {
+                saveOverallCoverage(new ExecFileWriter.Content() {
+                    @Override
+                    public void writeTo(final OutputStream output) throws IOException {
+                        loader.save(output);
                     }
+                });
+            }
+        }
+    }
 
-                    loader.save(file, false);
+    private void partitionExecutionData(final ExecutionDataPartitioner partitioner) throws MavenReportException {
+        final PipelineMetrics.Timer timer = startTimer(PipelineMetrics.LOAD, null, null);
+        try {
+            partitioner.partition(getExecFiles(true));
+        } catch (final IOException e) {
+            throw new MavenReportException("Unable to read execution data file: " + e.getMessage(), e);
+        }
+        if (timer != null) {
+            timer.stop(partitioner.getBytesRead(), 0, partitioner.getIndex().size());
+        }
+
+        getLog().info(String.format(
+                "Partitioned %d execution data files (%d duplicates skipped): %d bytes, %d sessions, %d classes",
+                partitioner.getLoadedFiles(), partitioner.getDuplicateFiles(), partitioner.getBytesRead(),
+                partitioner.getSessionInfos().getInfos().size(), partitioner.getIndex().size()));
+    }
+
+    /**
+     * @return reactor projects which are not excluded by {@code excludeModules}
+     */
+    protected List<MavenProject> getAggregatedProjects() {
+        final List<Pattern> patterns = new ArrayList<>();
+        for (final String excludeModule : excludeModules) {
+            patterns.add(Pattern.compile(excludeModule));
+        }
+
+        final List<MavenProject> children = new ArrayList<>();
+        for (final MavenProject child : reactorProjects) {
+            boolean skip = false;
+            for (final Pattern pattern : patterns) {
+                if (pattern.matcher(child.getArtifactId()).matches()
+                    || pattern.matcher(child.getGroupId() + ':' + child.getArtifactId()).matches()) {
+                    skip = true;
+                    break;
                 }
             }
+
+            if (!skip) {
+                children.add(child);
+            }
         }
+        return children;
     }
 
-    private IReportVisitor createVisitor(final Locale locale, final File outputDirectory)
+    private IReportVisitor createVisitor(final Locale locale,
+                                         final File outputDirectory,
+                                         final List<Closeable> outputs,
+                                         final List<MavenProject> projects)
             throws IOException {
         final List<IReportVisitor> visitors = new ArrayList<>();
 
@@ -228,59 +882,383 @@ public abstract class AbstractJacocoPlugin extends AbstractMojo {
         if (reportFormats.contains(xml)) {
             final XMLFormatter xmlFormatter = new XMLFormatter();
             xmlFormatter.setOutputEncoding(outputEncoding);
-            visitors.add(xmlFormatter.createVisitor(new FileOutputStream(new File(
-                    outputDirectory, "jacoco.xml"))));
+            visitors.add(meter(xml, xmlFormatter.createVisitor(
+                    openReport(outputDirectory, xml, "jacoco.xml", outputs))));
         }
 
         if (reportFormats.contains(csv)) {
             final CSVFormatter csvFormatter = new CSVFormatter();
             csvFormatter.setOutputEncoding(outputEncoding);
-            visitors.add(csvFormatter.createVisitor(new FileOutputStream(new File(
-                    outputDirectory, "jacoco.csv"))));
+            visitors.add(meter(csv, csvFormatter.createVisitor(
+                    openReport(outputDirectory, csv, "jacoco.csv", outputs))));
         }
 
         if (reportFormats.contains(html)) {
             final HTMLFormatter htmlFormatter = new HTMLFormatter();
             htmlFormatter.setOutputEncoding(outputEncoding);
             htmlFormatter.setLocale(locale);
-            visitors.add(htmlFormatter.createVisitor(new FileMultiReportOutput(
-                    outputDirectory)));
+            IMultiReportOutput output = incrementalHtml
+                    ? new IncrementalMultiReportOutput(outputDirectory)
+                    : new FileMultiReportOutput(outputDirectory);
+            if (pipelineMetrics != null) {
+                output = pipelineMetrics.count(html.name(), output);
+            }
+            visitors.add(meter(html, htmlFormatter.createVisitor(output)));
+        }
+
+        if (reportFormats.contains(summary)) {
+            visitors.add(meter(summary, new SummaryFormatter().createVisitor(
+                    openReport(outputDirectory, summary, "jacoco-summary.ndjson", false, outputs))));
+        }
+
+        if (reportFormats.contains(htmlzip)) {
+            final HTMLFormatter htmlFormatter = new HTMLFormatter();
+            htmlFormatter.setOutputEncoding(outputEncoding);
+            htmlFormatter.setLocale(locale);
+            OutputStream output = new AsyncFileOutputStream(
+                    new File(outputDirectory, "jacoco-html.zip"), false, reportBufferSize);
+            outputs.add(output);
+            if (pipelineMetrics != null) {
+                output = pipelineMetrics.count(htmlzip.name(), output);
+            }
+            final ZipOutputStream zip = new ZipOutputStream(output);
+            if (htmlZipStoreOnly) {
+                zip.setLevel(Deflater.NO_COMPRESSION);
+            }
+            visitors.add(meter(htmlzip, htmlFormatter.createVisitor(new ZipMultiReportOutput(zip))));
+        }
+
+        final GitDiff changes = getGitDiff();
+        if (changes != null) {
+            diffFormatter = new DiffCoverageFormatter(changes);
+            visitors.add(meter(diff, diffFormatter.createVisitor(
+                    openReport(outputDirectory, diff, "jacoco-diff.json", outputs))));
+        }
+
+        if (reportFormats.contains(trend)) {
+            if (historyLength < 1) {
+                throw new IOException("historyLength must be positive, got " + historyLength);
+            }
+            final TrendFormatter trendFormatter = new TrendFormatter(
+                    new CoverageHistory(new File(outputDirectory, "jacoco-history.bin")),
+                    new File(outputDirectory, "jacoco-trend.html"), historyLength, locale);
+            visitors.add(meter(trend, trendFormatter.createVisitor()));
+        }
+
+        if (concurrentRendering && visitors.size() > 1) {
+            final ConcurrentReportVisitor visitor = new ConcurrentReportVisitor(visitors);
+            // stop rendering threads before closing streams they write to
+            outputs.add(0, visitor);
+            return visitor;
         }
 
         return new MultiReportVisitor(visitors);
     }
 
+    private OutputStream openReport(final File outputDirectory,
+                                    final ReportFormat format,
+                                    final String name,
+                                    final List<Closeable> outputs) throws IOException {
+        return openReport(outputDirectory, format, name, compressReports, outputs);
+    }
+
+    private OutputStream openReport(final File outputDirectory,
+                                    final ReportFormat format,
+                                    final String name,
+                                    final boolean compress,
+                                    final List<Closeable> outputs) throws IOException {
+        final String fileName = compress ? name + ".gz" : name;
+        final OutputStream output = new AsyncFileOutputStream(
+                new File(outputDirectory, fileName), compress, reportBufferSize);
+        outputs.add(output);
+        return pipelineMetrics == null ? output : pipelineMetrics.count(format.name(), output);
+    }
+
+    private IReportVisitor meter(final ReportFormat format, final IReportVisitor visitor) {
+        return pipelineMetrics == null ? visitor : pipelineMetrics.wrap(format.name(), visitor);
+    }
+
+    /**
+     * @return running timer or {@code null} if metrics are not collected
+     */
+    private PipelineMetrics.Timer startTimer(final String stage, final String module, final String format) {
+        return pipelineMetrics == null ? null : pipelineMetrics.start(stage, module, format);
+    }
+
+    /**
+     * Schedules analysis of given projects. Results are listed in the same
+     * order as projects, so bundles may be visited in reactor order.
+     */
+    protected List<Future<IBundleCoverage>> analyzeProjects(final ExecutorService executor,
+                                                            final ExecFileLoader loader,
+                                                            final ForkJoinPool pool,
+                                                            final List<MavenProject> projects) {
+        final List<Future<IBundleCoverage>> bundles = new ArrayList<>();
+        for (final MavenProject child : projects) {
+            bundles.add(analyzeProject(executor, loader, pool, child));
+        }
+        return bundles;
+    }
+
     /**
-     * @return {@code true} if project was actually visited
+     * Schedules analysis of a single project.
+     */
+    protected Future<IBundleCoverage> analyzeProject(final ExecutorService executor,
+                                                     final ExecFileLoader loader,
+                                                     final ForkJoinPool pool,
+                                                     final MavenProject project) {
+        return executor.submit(new Callable<IBundleCoverage>() {
+            @Override
+            public IBundleCoverage call() throws IOException {
+                return createBundle(loader.getExecutionDataStore(), pool, project);
+            }
+        });
+    }
+
+    /**
+     * Drops execution data of classes which are not part of analyzed
+     * bundles, e.g. third-party or test classes.
+     *
+     * @return loader holding the same sessions and pruned execution data
      *
      * @throws java.io.IOException
      */
-    private boolean visitProject(final ExecFileLoader loader,
-                                 final IReportGroupVisitor visitor,
-                                 final MavenProject project) throws IOException {
+    private ExecFileLoader pruneExecutionData(final ExecFileLoader loader,
+                                              final List<Future<IBundleCoverage>> bundles)
+            throws IOException {
+        final Set<Long> classIds = new HashSet<>();
+        for (final Future<IBundleCoverage> future : bundles) {
+            final IBundleCoverage bundle = Futures.await(future);
+            if (bundle == null) {
+                continue;
+            }
+            for (final IPackageCoverage pkg : bundle.getPackages()) {
+                for (final IClassCoverage coverage : pkg.getClasses()) {
+                    classIds.add(coverage.getId());
+                }
+            }
+        }
 
-        // skip processing modules with "pom" packaging
+        final ExecFileLoader pruned = new ExecFileLoader();
+        loader.getSessionInfoStore().accept(pruned.getSessionInfoStore());
+        final ExecutionDataStore store = loader.getExecutionDataStore();
+        for (final Long classId : classIds) {
+            final ExecutionData data = store.get(classId);
+            if (data != null) {
+                pruned.getExecutionDataStore().put(data);
+            }
+        }
+
+        getLog().info(String.format("Pruned execution data: %d of %d classes kept",
+                pruned.getExecutionDataStore().getContents().size(),
+                store.getContents().size()));
+        return pruned;
+    }
+
+    /**
+     * @return analyzed bundle or {@code null} if project has nothing to analyze
+     *
+     * @throws java.io.IOException
+     */
+    private IBundleCoverage createBundle(final ExecutionDataStore executionData,
+                                         final ForkJoinPool pool,
+                                         final MavenProject project) throws IOException {
+        final List<String> classIncludes = getClassIncludes(project);
+        final BundleCreator creator = createBundleCreator(project, pool, classIncludes);
+        if (creator == null) {
+            return null;
+        }
+
+        final PipelineMetrics.Timer timer = startTimer(PipelineMetrics.ANALYZE, project.getName(), null);
+        final FileFilter fileFilter = new FileFilter(classIncludes, this.excludes);
+        final String key = project.getId() + '|' + fileFilter.getIncludes() + '|' + fileFilter.getExcludes()
+                           + '|' + getClassesJar(project);
+        final BundleCache bundles = BundleCache.getInstance();
+        if (bundleCacheSize > 0) {
+            final IBundleCoverage cached = bundles.get(key, executionData);
+            if (cached != null) {
+                getLog().debug("Reusing analyzed bundle of " + project.getId());
+                if (timer != null) {
+                    timer.stop(0, 0, cached.getClassCounter().getTotalCount());
+                }
+                return cached;
+            }
+        }
+
+        // ownership is applied when bundles are visited, claims made here
+        // only save analysis of classes known to belong to earlier modules
+        final boolean claim = classOwnership != null && duplicateClasses == DuplicateClassPolicy.first;
+        if (claim) {
+            creator.setOwnership(classOwnership);
+        }
+        final IBundleCoverage bundle = creator.createBundle(executionData);
+        if (timer != null) {
+            timer.stop(creator.getBytesRead(), 0, bundle.getClassCounter().getTotalCount());
+        }
+        // bundles without claimed classes are incomplete
+        if (bundleCacheSize > 0 && fillBundleCache && !claim) {
+            bundles.put(key, executionData, bundle, bundleCacheSize * 1024L * 1024L);
+        }
+        return bundle;
+    }
+
+    /**
+     * @return creator for project classes or {@code null} if project has
+     *         nothing to analyze
+     */
+    private BundleCreator createBundleCreator(final MavenProject project,
+                                              final ForkJoinPool pool,
+                                              final List<String> classIncludes) {
+        if (!hasClasses(project)) {
+            return null;
+        }
+        // empty includes mean everything, but in diff mode nothing has changed
+        if (gitDiff != null && classIncludes.isEmpty()) {
+            return null;
+        }
+
+        final AnalysisCache cache = analysisCacheDirectory == null
+                ? null
+                : new AnalysisCache(analysisCacheDirectory, getLog());
+        final BundleCreator creator = new BundleCreator(project, new FileFilter(classIncludes, this.excludes));
+        creator.setPool(pool, classAnalysisChunkSize);
+        creator.setCache(cache);
+        creator.setJar(getClassesJar(project));
+        return creator;
+    }
+
+    /**
+     * @return {@code false} for modules with "pom" packaging or without
+     *         compiled classes
+     */
+    private boolean hasClasses(final MavenProject project) {
         final File classesDir = new File(project.getBuild().getOutputDirectory());
-        if ("pom".equals(project.getPackaging()) || !classesDir.exists()) {
-            return false;
+        return !"pom".equals(project.getPackaging()) && (classesDir.exists() || getClassesJar(project) != null);
+    }
+
+    /**
+     * @return configured includes or, in diff mode, patterns of classes
+     *         compiled from changed source files of the project
+     */
+    private List<String> getClassIncludes(final MavenProject project) throws IOException {
+        final GitDiff changes = getGitDiff();
+        if (changes == null) {
+            return includes;
+        }
+
+        final List<String> result = new ArrayList<>();
+        for (final File root : getCompileSourceRoots(project)) {
+            if (!root.isDirectory()) {
+                continue;
+            }
+            final String prefix = root.getCanonicalPath() + File.separator;
+            for (final File file : changes.getFiles()) {
+                final String path = file.getPath();
+                final int extension = path.lastIndexOf('.');
+                if (path.startsWith(prefix) && extension > prefix.length()
+                    && path.lastIndexOf(File.separatorChar) < extension) {
+                    // Foo.java compiles to Foo.class and nested Foo$Bar.class
+                    final String name = path.substring(prefix.length(), extension).replace(File.separatorChar, '/');
+                    result.add(name + ".class");
+                    result.add(name + "$*.class");
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs git once per goal execution.
+     *
+     * @return changes since {@code diffBase} or {@code null} if diff
+     *         coverage is not requested
+     */
+    protected synchronized GitDiff getGitDiff() throws IOException {
+        if (diffBase != null && gitDiff == null) {
+            gitDiff = GitDiff.resolve(getRootProject().getBasedir(), diffBase);
+            getLog().info(String.format("Diff coverage since %s: %d changed files",
+                    diffBase, gitDiff.getFiles().size()));
+        }
+        return gitDiff;
+    }
+
+    /**
+     * @return archive to read module classes from or {@code null} to read
+     *         them from output directory
+     */
+    private File getClassesJar(final MavenProject project) {
+        if (classesJar != null) {
+            final File jar = resolvePath(project, classesJar);
+            if (jar.isFile()) {
+                return jar;
+            }
         }
 
-        final FileFilter fileFilter = new FileFilter(this.includes, this.excludes);
-        final BundleCreator creator = new BundleCreator(project, fileFilter);
-        final IBundleCoverage bundle = creator.createBundle(loader.getExecutionDataStore());
+        if (analyzeJar && project.getArtifact() != null) {
+            final File jar = project.getArtifact().getFile();
+            if (jar != null && jar.isFile() && jar.getName().endsWith(".jar")) {
+                return jar;
+            }
+        }
 
+        return null;
+    }
+
+    private void visitBundle(final IReportGroupVisitor visitor,
+                             final SourceIndex sourceIndex,
+                             final MavenProject project,
+                             final IBundleCoverage analyzed) throws IOException {
+        final List<File> sourceRoots = getCompileSourceRoots(project);
         final SourceFileCollection locator = new SourceFileCollection(
-                getCompileSourceRoots(project),
-                sourceEncoding);
+                sourceRoots,
+                sourceEncoding,
+                sourceIndex);
 
+        final IBundleCoverage bundle = claimClasses(project.getId(), analyzed);
         checkForMissingDebugInformation(bundle);
+        if (diffFormatter != null) {
+            // bundle names are not unique within a reactor
+            diffFormatter.setSourceRoots(bundle, sourceRoots);
+        }
         visitor.visitBundle(bundle, locator);
+    }
 
-        return true;
+    /**
+     * Applies {@code duplicateClasses} policy to classes of an aggregated
+     * module. Modules must be passed in reactor order.
+     *
+     * @return bundle to report, the given one if ownership is not started
+     */
+    protected IBundleCoverage claimClasses(final String module, final IBundleCoverage bundle) throws IOException {
+        if (classOwnership == null) {
+            return bundle;
+        }
+        final Map<String, String> duplicates = classOwnership.findDuplicates(module, bundle);
+        if (duplicates.isEmpty()) {
+            return bundle;
+        }
+
+        if (getLog().isDebugEnabled()) {
+            for (final Map.Entry<String, String> entry : duplicates.entrySet()) {
+                getLog().debug(String.format("Class %s of %s is already part of %s",
+                        entry.getKey(), module, entry.getValue()));
+            }
+        }
+        switch (duplicateClasses) {
+            case keep:
+                return bundle;
+            case fail:
+                final Map.Entry<String, String> first = duplicates.entrySet().iterator().next();
+                throw new IOException(String.format(
+                        "%d classes of %s are already part of other modules, e.g. %s of %s",
+                        duplicates.size(), module, first.getKey(), first.getValue()));
+            default:
+                return ClassOwnership.exclude(bundle, duplicates.keySet());
+        }
     }
 
     private List<File> getCompileSourceRoots(final MavenProject project) {
-        final Set<File> result = new HashSet<>();
+        final Set<File> result = new LinkedHashSet<>();
         for (final String path : project.getCompileSourceRoots()) {
             result.add(resolvePath(project, path));
         }
@@ -299,29 +1277,65 @@ public abstract class AbstractJacocoPlugin extends AbstractMojo {
         }
     }
 
-    private ExecFileLoader loadExecutionData(final boolean root) throws MavenReportException {
-        final ExecFileLoader loader = new ExecFileLoader();
+    protected ExecFileLoader loadExecutionData(final boolean root) throws MavenReportException {
+        final List<File> files = getExecFiles(root);
+        final PipelineMetrics.Timer timer = startTimer(PipelineMetrics.LOAD, null, null);
+        final ExecutionDataLoader dataLoader = new ExecutionDataLoader(loadThreads, mappedLoadThreshold);
+        final SessionCompactor compactor = createSessionCompactor();
+        dataLoader.setSessionCompactor(compactor);
+        final ExecFileLoader loader;
         try {
-            if (root) {
-                for (final MavenProject project : reactorProjects) {
-                    loadExecFile(loader, project);
-                }
-            } else {
-                loadExecFile(loader, project);
-            }
+            loader = dataLoader.load(files);
         } catch (final IOException e) {
             throw new MavenReportException("Unable to read execution data file: " + e.getMessage(), e);
         }
+        if (timer != null) {
+            timer.stop(dataLoader.getBytesRead(), 0, dataLoader.getClasses());
+        }
 
+        getLog().info(String.format(
+                "Loaded %d execution data files (%d duplicates skipped): %d bytes, %d sessions, %d classes",
+                dataLoader.getLoadedFiles(), dataLoader.getDuplicateFiles(), dataLoader.getBytesRead(),
+                dataLoader.getSessions(), dataLoader.getClasses()));
+        logCompaction(compactor);
         return loader;
     }
 
-    private void loadExecFile(final ExecFileLoader loader, final MavenProject project)
-            throws IOException, MavenReportException {
+    /**
+     * @return compactor for a single load or {@code null} if every session
+     *         is kept
+     */
+    private SessionCompactor createSessionCompactor() {
+        return maxSessions > 0
+                ? new SessionCompactor(maxSessions, Pattern.compile(sessionGroupPattern), sessionWindow)
+                : null;
+    }
+
+    private void logCompaction(final SessionCompactor compactor) {
+        if (compactor != null && compactor.getCollapsed() > 0) {
+            getLog().info(String.format("Collapsed %d of %d sessions into %d summary sessions",
+                    compactor.getCollapsed(), compactor.getVisited(), compactor.getSummaries()));
+        }
+    }
+
+    private List<File> getExecFiles(final boolean root) throws MavenReportException {
+        final List<File> files = new ArrayList<>();
+        if (root) {
+            for (final MavenProject project : reactorProjects) {
+                collectExecFiles(files, project);
+            }
+        } else {
+            collectExecFiles(files, project);
+        }
+        return files;
+    }
+
+    private void collectExecFiles(final List<File> files, final MavenProject project)
+            throws MavenReportException {
         for (final String dataFile : dataFiles) {
             final File file = resolvePath(project, dataFile);
             if (file.exists()) {
-                loader.load(file);
+                files.add(file);
             } else {
                 if (strict) {
                     throw new MavenReportException("File " + file + " not exists");
@@ -367,11 +1381,14 @@ public abstract class AbstractJacocoPlugin extends AbstractMojo {
 
         private final List<File> sourceRoots;
         private final String encoding;
+        private final SourceIndex index;
 
         public SourceFileCollection(final List<File> sourceRoots,
-                                    final String encoding) {
+                                    final String encoding,
+                                    final SourceIndex index) {
             this.sourceRoots = sourceRoots;
             this.encoding = encoding;
+            this.index = index;
         }
 
         @Override
@@ -383,14 +1400,13 @@ public abstract class AbstractJacocoPlugin extends AbstractMojo {
             } else {
                 r = fileName;
             }
-            for (final File sourceRoot : sourceRoots) {
-                final File file = new File(sourceRoot, r);
-                if (file.exists() && file.isFile()) {
-                    return new InputStreamReader(new FileInputStream(file),
-                            encoding);
-                }
+
+            final File file = index.find(sourceRoots, r);
+            if (file == null) {
+                return null;
             }
-            return null;
+            return new BufferedReader(new InputStreamReader(new FileInputStream(file),
+                    encoding));
         }
 
         @Override
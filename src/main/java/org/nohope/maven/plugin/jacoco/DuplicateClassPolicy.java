@@ -0,0 +1,20 @@
+package org.nohope.maven.plugin.jacoco;
+
+/**
+ * Handling of classes with identical bytes found in several modules of
+ * the root report, e.g. shaded or copied classes.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public enum DuplicateClassPolicy {
+    /**
+     * Class is analyzed and reported once, in the first module containing
+     * it in reactor order.
+     */
+    first,
+    /** Class is analyzed and reported in every module containing it. */
+    keep,
+    /** Report fails. */
+    fail
+}
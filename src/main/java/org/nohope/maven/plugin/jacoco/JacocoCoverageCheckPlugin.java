@@ -0,0 +1,234 @@
+package org.nohope.maven.plugin.jacoco;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.reporting.MavenReportException;
+import org.jacoco.core.analysis.CoverageNodeImpl;
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.tools.ExecFileLoader;
+import org.nohope.maven.plugin.jacoco.internal.BundleCache;
+import org.nohope.maven.plugin.jacoco.internal.Futures;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Checks aggregated coverage against configured thresholds.
+ * <p>
+ * Modules are analyzed exactly as for {@code aggregate} and {@code report}
+ * goals, but only counters are evaluated: no formatter is created and no
+ * source file is read.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+@Mojo(name = "check",
+      aggregator = true,
+      defaultPhase = LifecyclePhase.VERIFY
+)
+public class JacocoCoverageCheckPlugin extends AbstractJacocoPlugin {
+
+    /** Coverage limits, nothing is checked when not specified. */
+    @Parameter
+    private List<Threshold> thresholds = Collections.emptyList();
+
+    /**
+     * Fail the build on threshold violation. When enabled, modules left to
+     * analyze are not started, and those in progress are cancelled, as soon
+     * as the failure is certain.
+     */
+    @Parameter(property = "jacoco.failOnViolation", defaultValue = "true")
+    private boolean failOnViolation = true;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping JaCoCo execution");
+            return;
+        }
+        if (thresholds.isEmpty()) {
+            getLog().info("No coverage thresholds configured");
+            return;
+        }
+
+        final List<Pattern> patterns = new ArrayList<>();
+        for (final Threshold threshold : thresholds) {
+            final String element = threshold.getElement();
+            if (!Threshold.OVERALL.equals(element)
+                && !Threshold.MODULE.equals(element)
+                && !Threshold.PACKAGE.equals(element)) {
+                throw new MojoExecutionException("Unknown threshold element " + element);
+            }
+            patterns.add(threshold.getName() == null ? null : Pattern.compile(threshold.getName()));
+        }
+
+        final List<String> violations;
+        try {
+            violations = check(patterns);
+        } catch (final IOException | MavenReportException e) {
+            throw new MojoExecutionException("An error has occurred in JaCoCo coverage check.", e);
+        }
+
+        if (violations.isEmpty()) {
+            getLog().info("All coverage checks have been met");
+            return;
+        }
+
+        for (final String violation : violations) {
+            if (failOnViolation) {
+                getLog().error(violation);
+            } else {
+                getLog().warn(violation);
+            }
+        }
+        if (failOnViolation) {
+            throw new MojoFailureException("Coverage checks have not been met, see log for details");
+        }
+    }
+
+    private List<String> check(final List<Pattern> patterns) throws IOException, MavenReportException {
+        final ExecFileLoader loader = loadExecutionData(true);
+        final List<MavenProject> projects = getAggregatedProjects();
+
+        final List<String> violations = new ArrayList<>();
+        final CoverageNodeImpl overall = new CoverageNodeImpl(ICoverageNode.ElementType.GROUP, "overall");
+
+        final ForkJoinPool pool = createAnalysisPool();
+        final int threads = Math.max(1, Math.min(analysisThreads, projects.size()));
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // same classes as in the root report
+        startClassOwnership(projects);
+        try {
+            // modules are submitted at most one per thread ahead, so none
+            // is started once the failure is certain
+            final List<Future<IBundleCoverage>> bundles = new ArrayList<>();
+            for (int i = 0; i < projects.size(); i++) {
+                while (bundles.size() < Math.min(projects.size(), i + threads)) {
+                    bundles.add(analyzeProject(executor, loader, pool, projects.get(bundles.size())));
+                }
+                final IBundleCoverage analyzed = Futures.await(bundles.get(i));
+                if (analyzed == null) {
+                    continue;
+                }
+                final IBundleCoverage bundle = claimClasses(projects.get(i).getId(), analyzed);
+
+                checkBundle(patterns, projects.get(i), bundle, violations);
+                overall.increment(bundle);
+
+                if (failOnViolation && checkMissed(overall, violations)) {
+                    logDuplicateClasses();
+                    final int cancelled = bundles.size() - i - 1;
+                    final int skipped = projects.size() - bundles.size();
+                    if (cancelled + skipped > 0) {
+                        getLog().info(String.format("Coverage check failed, %d modules not started, "
+                                                    + "%d modules in progress cancelled", skipped, cancelled));
+                    }
+                    return violations;
+                }
+            }
+            logDuplicateClasses();
+        } finally {
+            executor.shutdownNow();
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            BundleCache.getInstance().clear();
+            stopClassOwnership();
+        }
+
+        for (int i = 0; i < thresholds.size(); i++) {
+            if (Threshold.OVERALL.equals(thresholds.get(i).getElement())) {
+                check(thresholds.get(i), "overall", overall, violations);
+            }
+        }
+        return violations;
+    }
+
+    private void checkBundle(final List<Pattern> patterns,
+                             final MavenProject project,
+                             final IBundleCoverage bundle,
+                             final List<String> violations) {
+        for (int i = 0; i < thresholds.size(); i++) {
+            final Threshold threshold = thresholds.get(i);
+            final Pattern pattern = patterns.get(i);
+            if (Threshold.MODULE.equals(threshold.getElement())) {
+                if (pattern == null || pattern.matcher(project.getArtifactId()).matches()) {
+                    check(threshold, "module " + project.getArtifactId(), bundle, violations);
+                }
+            } else if (Threshold.PACKAGE.equals(threshold.getElement())) {
+                for (final IPackageCoverage pkg : bundle.getPackages()) {
+                    if (pattern == null || pattern.matcher(pkg.getName()).matches()) {
+                        check(threshold, "package " + pkg.getName() + " of " + project.getArtifactId(),
+                                pkg, violations);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Missed counts only grow while modules are added, so an exceeded
+     * overall maximum can't be met anymore.
+     *
+     * @return {@code true} if the check is certain to fail
+     */
+    private boolean checkMissed(final ICoverageNode overall, final List<String> violations) {
+        if (!violations.isEmpty()) {
+            return true;
+        }
+
+        for (final Threshold threshold : thresholds) {
+            final Integer maximum = threshold.getMaxMissedCount();
+            if (Threshold.OVERALL.equals(threshold.getElement()) && maximum != null
+                && overall.getCounter(threshold.getCounter()).getMissedCount() > maximum) {
+                violations.add(String.format(Locale.ENGLISH, "overall: %s missed count exceeds %d",
+                        threshold.getCounter(), maximum));
+            }
+        }
+        return !violations.isEmpty();
+    }
+
+    private static void check(final Threshold threshold,
+                              final String element,
+                              final ICoverageNode node,
+                              final List<String> violations) {
+        final ICounter counter = node.getCounter(threshold.getCounter());
+
+        final Double minimum = threshold.getMinCoveredRatio();
+        // ratio of an empty counter is NaN and never fails the check
+        if (minimum != null && counter.getCoveredRatio() < minimum) {
+            violations.add(String.format(Locale.ENGLISH, "%s: %s covered ratio is %.4f, expected at least %.4f",
+                    element, threshold.getCounter(), counter.getCoveredRatio(), minimum));
+        }
+
+        final Integer maximum = threshold.getMaxMissedCount();
+        if (maximum != null && counter.getMissedCount() > maximum) {
+            violations.add(String.format(Locale.ENGLISH, "%s: %s missed count is %d, expected at most %d",
+                    element, threshold.getCounter(), counter.getMissedCount(), maximum));
+        }
+    }
+
+    /**
+     * Nothing is rendered by this goal.
+     */
+    @Override
+    protected File getOutputDirectory(final MavenProject project) {
+        return join(null, project.getBuild().getDirectory(), "jacoco");
+    }
+}
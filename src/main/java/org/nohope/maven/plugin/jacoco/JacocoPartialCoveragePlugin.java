@@ -0,0 +1,93 @@
+package org.nohope.maven.plugin.jacoco;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.reporting.MavenReportException;
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.tools.ExecFileLoader;
+import org.nohope.maven.plugin.jacoco.internal.BundleCache;
+import org.nohope.maven.plugin.jacoco.internal.Futures;
+import org.nohope.maven.plugin.jacoco.internal.PartialCoverage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Writes analyzed coverage of the current module with its execution data
+ * to a partial coverage file. Files of all modules, collected into one
+ * directory, are aggregated by {@code report} and {@code aggregate} goals
+ * with {@code partialCoverageDirectory} without any class files.
+ * <p>
+ * Classes are analyzed against execution data of the current module only.
+ * Coverage of them by tests of other modules is not part of the file and
+ * is missing from merged reports, unlike reports aggregated from class
+ * files.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+@Mojo(name = "partial",
+      defaultPhase = LifecyclePhase.VERIFY
+)
+public class JacocoPartialCoveragePlugin extends AbstractJacocoPlugin {
+
+    /** Partial coverage file to write. */
+    @Parameter(property = "jacoco.partialCoverageFile",
+               defaultValue = "${project.build.directory}/jacoco" + PartialCoverage.SUFFIX)
+    private File partialCoverageFile;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping JaCoCo execution");
+            return;
+        }
+
+        final IBundleCoverage bundle;
+        final ExecFileLoader loader;
+        final ForkJoinPool pool = createAnalysisPool();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            loader = loadExecutionData(false);
+            bundle = Futures.await(analyzeProjects(executor, loader, pool,
+                    Collections.singletonList(project)).get(0));
+        } catch (final IOException | MavenReportException e) {
+            throw new MojoExecutionException("An error has occurred in JaCoCo partial coverage.", e);
+        } finally {
+            executor.shutdownNow();
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            BundleCache.getInstance().clear();
+        }
+
+        if (bundle == null) {
+            getLog().info("No classes to analyze in " + project.getId());
+            return;
+        }
+
+        try {
+            new PartialCoverage(project.getId(), bundle, loader.getSessionInfoStore(),
+                    loader.getExecutionDataStore()).write(partialCoverageFile);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Unable to write " + partialCoverageFile, e);
+        }
+        getLog().info(String.format("Partial coverage of %d classes written to %s",
+                bundle.getClassCounter().getTotalCount(), partialCoverageFile));
+    }
+
+    /**
+     * Nothing is rendered by this goal.
+     */
+    @Override
+    protected File getOutputDirectory(final MavenProject project) {
+        return join(null, project.getBuild().getDirectory(), "jacoco");
+    }
+}
@@ -7,5 +7,20 @@ package org.nohope.maven.plugin.jacoco;
 public enum  ReportFormat {
     html,
     csv,
-    xml
+    xml,
+    /** HTML report packed into a single {@code jacoco-html.zip} archive. */
+    htmlzip,
+    /** Counters-only newline-delimited JSON {@code jacoco-summary.ndjson} with module index. */
+    summary,
+    /**
+     * Line coverage of lines changed since {@code diffBase} in
+     * {@code jacoco-diff.json}, always written when {@code diffBase} is set.
+     */
+    diff,
+    /**
+     * Counters of every run appended to {@code jacoco-history.bin} and
+     * coverage trend of latest {@code historyLength} runs rendered to
+     * {@code jacoco-trend.html}.
+     */
+    trend
 }
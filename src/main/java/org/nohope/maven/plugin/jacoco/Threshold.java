@@ -0,0 +1,76 @@
+package org.nohope.maven.plugin.jacoco;
+
+import org.jacoco.core.analysis.ICoverageNode.CounterEntity;
+
+/**
+ * Coverage limit checked by {@code check} goal.
+ * <pre>
+ * &lt;threshold&gt;
+ *   &lt;element&gt;package&lt;/element&gt;
+ *   &lt;counter&gt;BRANCH&lt;/counter&gt;
+ *   &lt;minCoveredRatio&gt;0.6&lt;/minCoveredRatio&gt;
+ * &lt;/threshold&gt;
+ * </pre>
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public class Threshold {
+
+    /** Threshold applied to sum of all aggregated modules. */
+    public static final String OVERALL = "overall";
+    /** Threshold applied to every module. */
+    public static final String MODULE = "module";
+    /** Threshold applied to every package of every module. */
+    public static final String PACKAGE = "package";
+
+    /** One of {@code overall}, {@code module} or {@code package}. */
+    private String element = OVERALL;
+
+    /** Counter to check. */
+    private CounterEntity counter = CounterEntity.INSTRUCTION;
+
+    /**
+     * Regular expression limiting checked modules (artifact id) or packages
+     * (slash separated name). Everything is checked when not specified.
+     */
+    private String name;
+
+    /** Minimal ratio of covered items, between 0 and 1. */
+    private Double minCoveredRatio;
+
+    /** Maximal number of missed items. */
+    private Integer maxMissedCount;
+
+    public String getElement() {
+        return element;
+    }
+
+    public CounterEntity getCounter() {
+        return counter;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Double getMinCoveredRatio() {
+        return minCoveredRatio;
+    }
+
+    public Integer getMaxMissedCount() {
+        return maxMissedCount;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(element).append(' ').append(counter);
+        if (minCoveredRatio != null) {
+            builder.append(" covered ratio >= ").append(minCoveredRatio);
+        }
+        if (maxMissedCount != null) {
+            builder.append(" missed count <= ").append(maxMissedCount);
+        }
+        return builder.toString();
+    }
+}
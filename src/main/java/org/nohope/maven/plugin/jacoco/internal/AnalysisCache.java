@@ -0,0 +1,227 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.apache.maven.plugin.logging.Log;
+import org.jacoco.core.JaCoCo;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Persistent per-class analysis results.
+ * <p>
+ * Every entry is stored in a separate file named after JaCoCo class id
+ * (CRC64 of class bytes) and remembers the probe state it was computed
+ * for. Entry is reused only if class bytes and probes did not change since
+ * it was written. Entries live in a subdirectory named after JaCoCo version,
+ * as analysis results of different versions are not interchangeable.
+ * <p>
+ * Entries are never evicted: every changed class adds a new one, and
+ * switching JaCoCo version starts a new subdirectory, so the cache grows
+ * until the directory is cleaned. Cache is best-effort: entries which can't
+ * be read are treated as missing, entries which can't be written are
+ * skipped.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class AnalysisCache {
+
+    private static final int MAGIC = 0x4a434143;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte NO_DATA = 0;
+    private static final byte NO_MATCH = 1;
+    private static final byte PROBES = 2;
+
+    private final File directory;
+    private final Log log;
+
+    /**
+     * @param directory
+     *            directory to keep cache entries in, created on demand
+     * @param log
+     *            log to report entries which can't be written to
+     */
+    public AnalysisCache(final File directory, final Log log) {
+        this.directory = new File(directory, JaCoCo.VERSION);
+        this.log = log;
+    }
+
+    /**
+     * Looks up analysis results for given class.
+     *
+     * @param classId
+     *            JaCoCo class id
+     * @param executionData
+     *            execution data the class is going to be analyzed against
+     * @return cached class coverages (possibly empty) or {@code null} when
+     *         there is no up-to-date entry
+     */
+    public Collection<IClassCoverage> get(final long classId,
+                                          final ExecutionDataStore executionData) {
+        final File file = getEntryFile(classId);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC
+                || in.readInt() != FORMAT_VERSION
+                || !JaCoCo.VERSION.equals(in.readUTF())
+                || in.readLong() != classId) {
+                return null;
+            }
+
+            final String className = in.readUTF();
+            final byte state = in.readByte();
+            final byte[] probes = readBytes(in);
+            if (!isUpToDate(classId, className, state, probes, executionData)) {
+                return null;
+            }
+
+            final int count = in.readInt();
+            final List<IClassCoverage> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(ClassCoverageCodec.read(in, classId));
+            }
+            return result;
+        } catch (final IOException | RuntimeException e) {
+            // broken entry is as good as missing one
+            return null;
+        }
+    }
+
+    /**
+     * Stores analysis results for given class. Failures are logged at debug
+     * level and otherwise ignored.
+     *
+     * @param classId
+     *            JaCoCo class id
+     * @param className
+     *            VM name of analyzed class
+     * @param executionData
+     *            execution data the class was analyzed against
+     * @param coverages
+     *            class coverages reported by analyzer
+     */
+    public void put(final long classId,
+                    final String className,
+                    final ExecutionDataStore executionData,
+                    final Collection<IClassCoverage> coverages) {
+        final ExecutionData data = executionData.get(classId);
+        final byte state;
+        final byte[] probes;
+        if (data != null) {
+            state = PROBES;
+            probes = pack(data.getProbes());
+        } else {
+            state = executionData.contains(className) ? NO_MATCH : NO_DATA;
+            probes = new byte[0];
+        }
+
+        final File file = getEntryFile(classId);
+        try {
+            write(file, classId, className, state, probes, coverages);
+        } catch (final IOException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Unable to cache analysis of " + className + " in " + file, e);
+            }
+        }
+    }
+
+    private static void write(final File file,
+                              final long classId,
+                              final String className,
+                              final byte state,
+                              final byte[] probes,
+                              final Collection<IClassCoverage> coverages) throws IOException {
+        final File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs() && !parent.isDirectory()) {
+            throw new IOException("Unable to create " + parent);
+        }
+
+        final File temp = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            try (final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(JaCoCo.VERSION);
+                out.writeLong(classId);
+                out.writeUTF(className);
+                out.writeByte(state);
+                writeBytes(out, probes);
+                out.writeInt(coverages.size());
+                for (final IClassCoverage coverage : coverages) {
+                    ClassCoverageCodec.write(out, coverage);
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private File getEntryFile(final long classId) {
+        final String name = String.format("%016x", classId);
+        return new File(new File(directory, name.substring(0, 2)), name);
+    }
+
+    private static boolean isUpToDate(final long classId,
+                                      final String className,
+                                      final byte state,
+                                      final byte[] probes,
+                                      final ExecutionDataStore executionData) {
+        final ExecutionData data = executionData.get(classId);
+        if (data != null) {
+            return state == PROBES && Arrays.equals(probes, pack(data.getProbes()));
+        }
+
+        final byte expected = executionData.contains(className) ? NO_MATCH : NO_DATA;
+        return state == expected;
+    }
+
+    private static byte[] pack(final boolean[] probes) {
+        final byte[] result = new byte[4 + (probes.length + 7) / 8];
+        result[0] = (byte) (probes.length >>> 24);
+        result[1] = (byte) (probes.length >>> 16);
+        result[2] = (byte) (probes.length >>> 8);
+        result[3] = (byte) probes.length;
+        for (int i = 0; i < probes.length; i++) {
+            if (probes[i]) {
+                result[4 + i / 8] |= 1 << (i % 8);
+            }
+        }
+        return result;
+    }
+
+    private static void writeBytes(final DataOutputStream out,
+                                   final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,185 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * File output stream which collects data into large chunks and hands them
+ * to a background thread for writing (and optional gzip compression), so
+ * the producer does not wait for disk on every write.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class AsyncFileOutputStream extends OutputStream {
+
+    private static final int QUEUE_CAPACITY = 8;
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final int bufferSize;
+
+    private byte[] buffer;
+    private int count;
+    private boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * @param file
+     *            file to write
+     * @param compress
+     *            {@code true} to gzip written data
+     * @param bufferSize
+     *            size of chunks handed to the writer thread
+     * @throws IOException
+     *             if file can't be opened
+     */
+    public AsyncFileOutputStream(final File file,
+                                 final boolean compress,
+                                 final int bufferSize) throws IOException {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.buffer = new byte[this.bufferSize];
+
+        final FileOutputStream fileStream = new FileOutputStream(file);
+        final OutputStream out;
+        try {
+            out = compress ? new GZIPOutputStream(fileStream, this.bufferSize) : fileStream;
+        } catch (final IOException e) {
+            fileStream.close();
+            throw e;
+        }
+
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain(out);
+            }
+        }, "jacoco-writer-" + file.getName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        if (count == buffer.length) {
+            handOff();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        ensureOpen();
+        int position = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            if (count == buffer.length) {
+                handOff();
+            }
+            final int chunk = Math.min(remaining, buffer.length - count);
+            System.arraycopy(bytes, position, buffer, count, chunk);
+            count += chunk;
+            position += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Hands buffered data to the writer thread. Data is not guaranteed to
+     * reach the file before {@link #close()}.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (count > 0) {
+            handOff();
+        }
+    }
+
+    /**
+     * Writes remaining data and waits for the writer thread to finish.
+     *
+     * @throws IOException
+     *             if any write has failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (count > 0 && failure == null) {
+                enqueue(Arrays.copyOf(buffer, count));
+            }
+            enqueue(END);
+            writer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.interrupt();
+            throw new InterruptedIOException("Interrupted while writing report");
+        } finally {
+            buffer = null;
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void handOff() throws IOException {
+        try {
+            enqueue(buffer.length == count ? buffer : Arrays.copyOf(buffer, count));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing report");
+        }
+        buffer = new byte[bufferSize];
+        count = 0;
+    }
+
+    private void enqueue(final byte[] chunk) throws InterruptedException, IOException {
+        // writer thread stops taking chunks on failure, do not wait for it forever
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (!writer.isAlive()) {
+                throw failure != null ? failure : new IOException("Report writer has stopped");
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void drain(final OutputStream out) {
+        try (final OutputStream target = out) {
+            while (true) {
+                final byte[] chunk = queue.take();
+                if (chunk == END) {
+                    break;
+                }
+                target.write(chunk);
+            }
+        } catch (final IOException e) {
+            failure = e;
+        } catch (final InterruptedException e) {
+            failure = new InterruptedIOException("Interrupted while writing report");
+        }
+    }
+}
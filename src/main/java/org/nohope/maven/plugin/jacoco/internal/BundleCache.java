@@ -0,0 +1,159 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Build-scoped in-memory storage of analyzed module bundles.
+ * <p>
+ * Bundles are remembered together with a fingerprint of the execution data
+ * they were analyzed against, so a bundle computed during module pass is
+ * reused by root aggregation only when probes of all its classes are the
+ * same. Least recently used bundles are evicted when approximate memory
+ * footprint exceeds configured limit.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class BundleCache {
+
+    private static final BundleCache INSTANCE = new BundleCache();
+
+    private static final long CLASS_WEIGHT = 512;
+    private static final long METHOD_WEIGHT = 256;
+    private static final long LINE_WEIGHT = 64;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private BundleCache() {
+    }
+
+    /**
+     * @return bundle cache shared by all plugin executions of current build
+     */
+    public static BundleCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param key
+     *            module and analysis settings the bundle was created for
+     * @param executionData
+     *            execution data the bundle is requested for
+     * @return cached bundle or {@code null} if there is no bundle analyzed
+     *         against the same probes
+     */
+    public synchronized IBundleCoverage get(final String key,
+                                            final ExecutionDataStore executionData) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.fingerprint != fingerprint(entry.bundle, executionData)) {
+            remove(key);
+            return null;
+        }
+
+        return entry.bundle;
+    }
+
+    /**
+     * Remembers bundle evicting least recently used ones if needed.
+     *
+     * @param key
+     *            module and analysis settings the bundle was created for
+     * @param executionData
+     *            execution data the bundle was analyzed against
+     * @param bundle
+     *            analyzed bundle
+     * @param maxWeight
+     *            approximate memory limit in bytes
+     */
+    public synchronized void put(final String key,
+                                 final ExecutionDataStore executionData,
+                                 final IBundleCoverage bundle,
+                                 final long maxWeight) {
+        remove(key);
+
+        final long bundleWeight = weigh(bundle);
+        if (bundleWeight > maxWeight) {
+            return;
+        }
+
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (weight + bundleWeight > maxWeight && iterator.hasNext()) {
+            weight -= iterator.next().weight;
+            iterator.remove();
+        }
+
+        entries.put(key, new Entry(bundle, fingerprint(bundle, executionData), bundleWeight));
+        weight += bundleWeight;
+    }
+
+    /**
+     * Drops all remembered bundles.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    private void remove(final String key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    private static long weigh(final IBundleCoverage bundle) {
+        return CLASS_WEIGHT * bundle.getClassCounter().getTotalCount()
+               + METHOD_WEIGHT * bundle.getMethodCounter().getTotalCount()
+               + LINE_WEIGHT * bundle.getLineCounter().getTotalCount();
+    }
+
+    private static long fingerprint(final IBundleCoverage bundle,
+                                    final ExecutionDataStore executionData) {
+        long hash = 0xcbf29ce484222325L;
+        for (final IPackageCoverage pkg : bundle.getPackages()) {
+            for (final IClassCoverage coverage : pkg.getClasses()) {
+                hash = mix(hash, coverage.getId());
+                final ExecutionData data = executionData.get(coverage.getId());
+                if (data == null) {
+                    hash = mix(hash, executionData.contains(coverage.getName()) ? 1 : 0);
+                } else {
+                    final boolean[] probes = data.getProbes();
+                    hash = mix(hash, probes.length);
+                    for (final boolean probe : probes) {
+                        hash = mix(hash, probe ? 3 : 2);
+                    }
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(final long hash, final long value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    private static final class Entry {
+        private final IBundleCoverage bundle;
+        private final long fingerprint;
+        private final long weight;
+
+        private Entry(final IBundleCoverage bundle, final long fingerprint, final long weight) {
+            this.bundle = bundle;
+            this.fingerprint = fingerprint;
+            this.weight = weight;
+        }
+    }
+}
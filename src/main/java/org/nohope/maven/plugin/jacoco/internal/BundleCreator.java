@@ -6,23 +6,47 @@ package org.nohope.maven.plugin.jacoco.internal;
  */
 
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
 import org.jacoco.core.analysis.Analyzer;
 import org.jacoco.core.analysis.CoverageBuilder;
 import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.ICoverageVisitor;
 import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.internal.data.CRC64;
+import org.objectweb.asm.ClassReader;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Creates an IBundleCoverage.
  */
 public final class BundleCreator {
 
+    private static final int DEFAULT_CHUNK_SIZE = 256;
+    private static final String CLASS_SUFFIX = ".class";
+
     private final MavenProject project;
     private final FileFilter fileFilter;
+    private ForkJoinPool pool;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private AnalysisCache cache;
+    private File jar;
+    private ClassOwnership ownership;
+    private long bytesRead;
 
     /**
      * Construct a new BundleCreator given the MavenProject and FileFilter.
@@ -37,6 +61,95 @@ public final class BundleCreator {
         this.fileFilter = fileFilter;
     }
 
+    /**
+     * Analyzes class files in chunks using given pool.
+     *
+     * @param pool
+     *            pool for parallel analysis, {@code null} to analyze on
+     *            the calling thread
+     * @param chunkSize
+     *            maximum number of class files analyzed by a single task
+     */
+    public void setPool(final ForkJoinPool pool, final int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * @param cache
+     *            persistent analysis results, {@code null} to analyze every
+     *            class file
+     */
+    public void setCache(final AnalysisCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @param jar
+     *            archive to read classes from instead of project output
+     *            directory, ignored if it does not exist
+     */
+    public void setJar(final File jar) {
+        this.jar = jar;
+    }
+
+    /**
+     * @param ownership
+     *            reactor-wide class index, class files already claimed by
+     *            earlier modules are not analyzed; {@code null} to analyze
+     *            every class file. Classes inside nested archives are
+     *            always analyzed.
+     */
+    public void setOwnership(final ClassOwnership ownership) {
+        this.ownership = ownership;
+    }
+
+    /**
+     * @return total size of class files and archives found by the last
+     *         {@link #createBundle(ExecutionDataStore)} call
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Lists VM names of classes {@link #createBundle(ExecutionDataStore)}
+     * would analyze, without reading class files. Classes inside nested
+     * archives are not listed.
+     *
+     * @param names
+     *            collection to add names to, e.g. {@code org/example/Foo}
+     * @throws IOException
+     *             if output directory or archive can't be read
+     */
+    public void listClassNames(final Collection<String> names) throws IOException {
+        if (jar != null && jar.isFile()) {
+            try (final ZipFile zip = new ZipFile(jar)) {
+                final Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    final String name = entry.getName();
+                    if (!entry.isDirectory() && name.endsWith(CLASS_SUFFIX) && fileFilter.matches(name)) {
+                        names.add(name.substring(0, name.length() - CLASS_SUFFIX.length()));
+                    }
+                }
+            }
+            return;
+        }
+
+        final File classesDir = new File(this.project.getBuild().getOutputDirectory());
+        final Path base = classesDir.toPath();
+        fileFilter.scan(classesDir, new FileFilter.Visitor() {
+            @Override
+            public void visitFile(final File file) {
+                final String name = base.relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+                if (name.endsWith(CLASS_SUFFIX)) {
+                    names.add(name.substring(0, name.length() - CLASS_SUFFIX.length()));
+                }
+            }
+        });
+    }
+
     /**
      * Create an IBundleCoverage for the given ExecutionDataStore.
      *
@@ -47,18 +160,242 @@ public final class BundleCreator {
      *             if class files can't be read
      */
     public IBundleCoverage createBundle(final ExecutionDataStore executionDataStore) throws IOException {
-        final CoverageBuilder builder = new CoverageBuilder();
+        bytesRead = 0;
+        final Collector collector = new Collector(executionDataStore);
+        try {
+            if (jar != null && jar.isFile()) {
+                try (final ZipFile zip = new ZipFile(jar)) {
+                    final Enumeration<? extends ZipEntry> entries = zip.entries();
+                    while (entries.hasMoreElements()) {
+                        final ZipEntry entry = entries.nextElement();
+                        if (!entry.isDirectory() && fileFilter.matches(entry.getName())) {
+                            collector.add(new ZipResource(zip, entry));
+                        }
+                    }
+                    return collector.finish();
+                }
+            }
+
+            final File classesDir = new File(this.project.getBuild().getOutputDirectory());
+            fileFilter.scan(classesDir, new FileFilter.Visitor() {
+                @Override
+                public void visitFile(final File file) throws IOException {
+                    collector.add(new FileResource(file));
+                }
+            });
+            return collector.finish();
+        } finally {
+            collector.cancel();
+        }
+    }
+
+    private void analyze(final ExecutionDataStore executionDataStore,
+                         final CoverageBuilder builder,
+                         final Collection<Resource> resources) throws IOException {
         final Analyzer analyzer = new Analyzer(executionDataStore, builder);
-        final File classesDir = new File(this.project.getBuild().getOutputDirectory());
+        for (final Resource resource : resources) {
+            analyze(executionDataStore, builder, analyzer, resource);
+        }
+    }
+
+    private void analyze(final ExecutionDataStore executionDataStore,
+                         final ICoverageVisitor visitor,
+                         final Analyzer analyzer,
+                         final Resource resource) throws IOException {
+        if ((cache != null || ownership != null) && resource.getName().endsWith(CLASS_SUFFIX)) {
+            analyzeClass(executionDataStore, visitor, resource);
+        } else {
+            resource.analyzeAll(analyzer);
+        }
+    }
+
+    private void analyzeClass(final ExecutionDataStore executionDataStore,
+                              final ICoverageVisitor visitor,
+                              final Resource resource) throws IOException {
+        final byte[] bytes = resource.read();
+        final long classId = CRC64.checksum(bytes);
+        if (ownership != null && !ownership.claim(classId, project.getId())) {
+            return;
+        }
+
+        Collection<IClassCoverage> coverages = cache == null ? null : cache.get(classId, executionDataStore);
+        if (coverages == null) {
+            final List<IClassCoverage> analyzed = new ArrayList<>();
+            final Analyzer analyzer = new Analyzer(executionDataStore, new ICoverageVisitor() {
+                @Override
+                public void visitCoverage(final IClassCoverage coverage) {
+                    analyzed.add(coverage);
+                }
+            });
+
+            final ClassReader reader;
+            try {
+                reader = new ClassReader(bytes);
+                analyzer.analyzeClass(reader);
+            } catch (final RuntimeException e) {
+                throw new IOException("Error while analyzing class " + resource.getName() + '.', e);
+            }
+
+            if (cache != null) {
+                cache.put(classId, reader.getClassName(), executionDataStore, analyzed);
+            }
+            coverages = analyzed;
+        }
 
-        @SuppressWarnings("unchecked")
-        final List<File> filesToAnalyze = FileUtils.getFiles(classesDir,
-                fileFilter.getIncludes(), fileFilter.getExcludes());
+        for (final IClassCoverage coverage : coverages) {
+            visitor.visitCoverage(coverage);
+        }
+    }
+
+    /**
+     * Class file or archive to analyze.
+     */
+    private interface Resource {
+        String getName();
+
+        long size();
+
+        byte[] read() throws IOException;
+
+        void analyzeAll(Analyzer analyzer) throws IOException;
+    }
+
+    private static final class FileResource implements Resource {
+        private final File file;
+
+        private FileResource(final File file) {
+            this.file = file;
+        }
 
-        for (final File file : filesToAnalyze) {
+        @Override
+        public String getName() {
+            return file.getPath();
+        }
+
+        @Override
+        public long size() {
+            return file.length();
+        }
+
+        @Override
+        public byte[] read() throws IOException {
+            return Files.readAllBytes(file.toPath());
+        }
+
+        @Override
+        public void analyzeAll(final Analyzer analyzer) throws IOException {
             analyzer.analyzeAll(file);
         }
+    }
+
+    private static final class ZipResource implements Resource {
+        private final ZipFile zip;
+        private final ZipEntry entry;
+
+        private ZipResource(final ZipFile zip, final ZipEntry entry) {
+            this.zip = zip;
+            this.entry = entry;
+        }
+
+        @Override
+        public String getName() {
+            return zip.getName() + '@' + entry.getName();
+        }
+
+        @Override
+        public long size() {
+            return Math.max(0, entry.getSize());
+        }
+
+        @Override
+        public byte[] read() throws IOException {
+            try (final InputStream in = zip.getInputStream(entry)) {
+                return IOUtil.toByteArray(in);
+            }
+        }
+
+        @Override
+        public void analyzeAll(final Analyzer analyzer) throws IOException {
+            try (final InputStream in = zip.getInputStream(entry)) {
+                analyzer.analyzeAll(in, getName());
+            }
+        }
+    }
+
+    /**
+     * Analyzes class files as soon as they are found. Without a pool every
+     * file goes straight into the builder, otherwise files are batched by
+     * chunk size and every full batch is analyzed on the pool while the
+     * walk goes on.
+     */
+    private final class Collector {
+        private final ExecutionDataStore executionDataStore;
+        private final CoverageBuilder builder = new CoverageBuilder();
+        private final Analyzer analyzer;
+        private final List<Future<List<IClassCoverage>>> batches = new ArrayList<>();
+        private List<Resource> batch = new ArrayList<>();
 
-        return builder.getBundle(this.project.getName());
+        private Collector(final ExecutionDataStore executionDataStore) {
+            this.executionDataStore = executionDataStore;
+            this.analyzer = new Analyzer(executionDataStore, builder);
+        }
+
+        private void add(final Resource resource) throws IOException {
+            bytesRead += resource.size();
+            if (pool == null) {
+                analyze(resource);
+                return;
+            }
+
+            batch.add(resource);
+            if (batch.size() >= chunkSize) {
+                submit();
+            }
+        }
+
+        private IBundleCoverage finish() throws IOException {
+            if (batches.isEmpty()) {
+                // small bundle, not worth a hand-off
+                for (final Resource resource : batch) {
+                    analyze(resource);
+                }
+            } else {
+                if (!batch.isEmpty()) {
+                    submit();
+                }
+                // partial results are replayed into a single builder in walk
+                // order, so source files split across batches are merged
+                // exactly as on one thread
+                for (final Future<List<IClassCoverage>> future : batches) {
+                    for (final IClassCoverage coverage : Futures.await(future)) {
+                        builder.visitCoverage(coverage);
+                    }
+                }
+            }
+            return builder.getBundle(project.getName());
+        }
+
+        private void cancel() {
+            for (final Future<?> future : batches) {
+                future.cancel(false);
+            }
+        }
+
+        private void analyze(final Resource resource) throws IOException {
+            BundleCreator.this.analyze(executionDataStore, builder, analyzer, resource);
+        }
+
+        private void submit() {
+            final List<Resource> resources = batch;
+            batch = new ArrayList<>();
+            batches.add(pool.submit(new Callable<List<IClassCoverage>>() {
+                @Override
+                public List<IClassCoverage> call() throws IOException {
+                    final CoverageBuilder partial = new CoverageBuilder();
+                    BundleCreator.this.analyze(executionDataStore, partial, resources);
+                    return new ArrayList<>(partial.getClasses());
+                }
+            }));
+        }
     }
 }
@@ -0,0 +1,173 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ILine;
+import org.jacoco.core.analysis.IMethodCoverage;
+import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.core.internal.analysis.ClassCoverageImpl;
+import org.jacoco.core.internal.analysis.CounterImpl;
+import org.jacoco.core.internal.analysis.MethodCoverageImpl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Binary form of analyzed class coverage with method counters and line
+ * data, shared by {@link AnalysisCache} and {@link PartialCoverage}. Class
+ * id is not part of the record.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+final class ClassCoverageCodec {
+
+    private static final String NULL_MARKER = "\u0000";
+
+    private ClassCoverageCodec() {
+    }
+
+    /**
+     * Writes class coverage, see {@link #read(DataInputStream, long)}.
+     */
+    static void write(final DataOutputStream out, final IClassCoverage coverage) throws IOException {
+        out.writeUTF(coverage.getName());
+        out.writeBoolean(coverage.isNoMatch());
+        writeNullable(out, coverage.getSignature());
+        writeNullable(out, coverage.getSuperName());
+        final String[] interfaces = coverage.getInterfaceNames();
+        out.writeInt(interfaces == null ? -1 : interfaces.length);
+        if (interfaces != null) {
+            for (final String name : interfaces) {
+                out.writeUTF(name);
+            }
+        }
+        writeNullable(out, coverage.getSourceFileName());
+
+        final Collection<IMethodCoverage> methods = coverage.getMethods();
+        out.writeInt(methods.size());
+        for (final IMethodCoverage method : methods) {
+            out.writeUTF(method.getName());
+            out.writeUTF(method.getDesc());
+            writeNullable(out, method.getSignature());
+            writeCounter(out, method.getInstructionCounter());
+            writeCounter(out, method.getBranchCounter());
+            writeCounter(out, method.getLineCounter());
+            writeCounter(out, method.getComplexityCounter());
+            writeCounter(out, method.getMethodCounter());
+
+            final int first = method.getFirstLine();
+            final int last = method.getLastLine();
+            out.writeInt(first);
+            out.writeInt(last);
+            if (first != ISourceNode.UNKNOWN_LINE) {
+                for (int nr = first; nr <= last; nr++) {
+                    final ILine line = method.getLine(nr);
+                    writeCounter(out, line.getInstructionCounter());
+                    writeCounter(out, line.getBranchCounter());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads class coverage written by
+     * {@link #write(DataOutputStream, IClassCoverage)}.
+     */
+    static IClassCoverage read(final DataInputStream in, final long classId) throws IOException {
+        final String name = in.readUTF();
+        final boolean noMatch = in.readBoolean();
+        final String signature = readNullable(in);
+        final String superName = readNullable(in);
+        final int interfaceCount = in.readInt();
+        String[] interfaces = null;
+        if (interfaceCount >= 0) {
+            interfaces = new String[interfaceCount];
+            for (int i = 0; i < interfaceCount; i++) {
+                interfaces[i] = in.readUTF();
+            }
+        }
+
+        final ClassCoverageImpl coverage = new ClassCoverageImpl(
+                name, classId, noMatch, signature, superName, interfaces);
+        coverage.setSourceFileName(readNullable(in));
+
+        final int methodCount = in.readInt();
+        for (int i = 0; i < methodCount; i++) {
+            final RestoredMethodCoverage method = new RestoredMethodCoverage(
+                    in.readUTF(), in.readUTF(), readNullable(in));
+            final CounterImpl instructions = readCounter(in);
+            final CounterImpl branches = readCounter(in);
+            final CounterImpl lines = readCounter(in);
+            final CounterImpl complexity = readCounter(in);
+            final CounterImpl methodCounter = readCounter(in);
+
+            final int first = in.readInt();
+            final int last = in.readInt();
+            if (first != ISourceNode.UNKNOWN_LINE) {
+                method.ensureCapacity(first, last);
+                for (int nr = first; nr <= last; nr++) {
+                    final CounterImpl lineInstructions = readCounter(in);
+                    final CounterImpl lineBranches = readCounter(in);
+                    if (lineInstructions.getTotalCount() > 0 || lineBranches.getTotalCount() > 0) {
+                        method.increment(lineInstructions, lineBranches, nr);
+                    }
+                }
+            }
+
+            method.restore(instructions, branches, lines, complexity, methodCounter);
+            coverage.addMethod(method);
+        }
+
+        return coverage;
+    }
+
+    private static void writeCounter(final DataOutputStream out,
+                                     final ICounter counter) throws IOException {
+        out.writeInt(counter.getMissedCount());
+        out.writeInt(counter.getCoveredCount());
+    }
+
+    private static CounterImpl readCounter(final DataInputStream in) throws IOException {
+        final int missed = in.readInt();
+        final int covered = in.readInt();
+        return CounterImpl.getInstance(missed, covered);
+    }
+
+    private static void writeNullable(final DataOutputStream out,
+                                      final String value) throws IOException {
+        out.writeUTF(value == null ? NULL_MARKER : value);
+    }
+
+    private static String readNullable(final DataInputStream in) throws IOException {
+        final String value = in.readUTF();
+        return NULL_MARKER.equals(value) ? null : value;
+    }
+
+    /**
+     * Method coverage restored from stream. Line data is replayed as usual,
+     * method level counters are taken as they were computed by analyzer.
+     */
+    private static final class RestoredMethodCoverage extends MethodCoverageImpl {
+
+        private RestoredMethodCoverage(final String name,
+                                     final String desc,
+                                     final String signature) {
+            super(name, desc, signature);
+        }
+
+        private void restore(final CounterImpl instructions,
+                             final CounterImpl branches,
+                             final CounterImpl lines,
+                             final CounterImpl complexity,
+                             final CounterImpl methods) {
+            this.instructionCounter = instructions;
+            this.branchCounter = branches;
+            this.lineCounter = lines;
+            this.complexityCounter = complexity;
+            this.methodCounter = methods;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactor-wide index of JaCoCo class ids (CRC64 of class bytes) which
+ * assigns every class to a single owning module, the first one in module
+ * order containing it, e.g. the module a shaded class comes from.
+ * <p>
+ * Modules may claim classes concurrently and in any order, before analysis
+ * or after it. Claims made before analysis let later modules skip classes
+ * which are already known to be owned by earlier ones. Final ownership is
+ * settled by {@link #findDuplicates(String, IBundleCoverage)}, which has to
+ * be called in module order.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class ClassOwnership {
+
+    private final List<String> modules = new ArrayList<>();
+    private final Map<String, Integer> ranks = new HashMap<>();
+    private final ConcurrentMap<Long, Integer> owners = new ConcurrentHashMap<>();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger duplicates = new AtomicInteger();
+
+    /**
+     * @param modules
+     *            module ids in order of precedence, unknown modules follow
+     *            in order of their first claim
+     */
+    public ClassOwnership(final List<String> modules) {
+        for (final String module : modules) {
+            rank(module);
+        }
+    }
+
+    /**
+     * Claims a class before it is analyzed.
+     *
+     * @param classId
+     *            CRC64 of class bytes
+     * @param module
+     *            id of module containing the class
+     * @return {@code false} if class is already claimed by an earlier
+     *         module, so its analysis may be skipped
+     */
+    public boolean claim(final long classId, final String module) {
+        final int rank = rank(module);
+        if (settle(classId, rank) == rank) {
+            return true;
+        }
+        skipped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Claims classes of an analyzed bundle. Every earlier module must have
+     * been passed here before.
+     *
+     * @param module
+     *            id of module the bundle belongs to
+     * @param bundle
+     *            module classes
+     * @return names of bundle classes owned by earlier modules mapped to
+     *         owning module ids
+     */
+    public Map<String, String> findDuplicates(final String module, final IBundleCoverage bundle) {
+        final int rank = rank(module);
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (final IPackageCoverage pkg : bundle.getPackages()) {
+            for (final IClassCoverage coverage : pkg.getClasses()) {
+                final int owner = settle(coverage.getId(), rank);
+                if (owner != rank) {
+                    result.put(coverage.getName(), module(owner));
+                }
+            }
+        }
+        duplicates.addAndGet(result.size());
+        return result;
+    }
+
+    /**
+     * @return number of class analyses skipped because of earlier claims
+     */
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * @return number of analyzed classes found to be owned by other modules
+     */
+    public int getDuplicates() {
+        return duplicates.get();
+    }
+
+    /**
+     * @param bundle
+     *            analyzed bundle
+     * @param classNames
+     *            VM names of classes to leave out
+     * @return bundle of the same name without given classes
+     */
+    public static IBundleCoverage exclude(final IBundleCoverage bundle, final Collection<String> classNames) {
+        final CoverageBuilder builder = new CoverageBuilder();
+        for (final IPackageCoverage pkg : bundle.getPackages()) {
+            for (final IClassCoverage coverage : pkg.getClasses()) {
+                if (!classNames.contains(coverage.getName())) {
+                    builder.visitCoverage(coverage);
+                }
+            }
+        }
+        return builder.getBundle(bundle.getName());
+    }
+
+    /**
+     * @return rank of the owner after the claim
+     */
+    private int settle(final long classId, final int rank) {
+        while (true) {
+            final Integer owner = owners.putIfAbsent(classId, rank);
+            if (owner == null) {
+                return rank;
+            }
+            if (owner <= rank || owners.replace(classId, owner, rank)) {
+                return Math.min(owner, rank);
+            }
+        }
+    }
+
+    private synchronized int rank(final String module) {
+        Integer rank = ranks.get(module);
+        if (rank == null) {
+            rank = modules.size();
+            modules.add(module);
+            ranks.put(module, rank);
+        }
+        return rank;
+    }
+
+    private synchronized String module(final int rank) {
+        return modules.get(rank);
+    }
+}
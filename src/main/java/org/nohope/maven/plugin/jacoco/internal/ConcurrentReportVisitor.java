@@ -0,0 +1,258 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report visitor which renders every format on its own thread.
+ * <p>
+ * Each wrapped visitor receives the same sequence of calls as it would from
+ * {@link org.jacoco.report.MultiReportVisitor}, but the calls are executed
+ * on a dedicated single-thread lane, so the slowest format does not hold
+ * the other ones back, up to {@value #MAX_PENDING} calls per format: the
+ * visiting thread blocks while the slowest format catches up, so only a
+ * bounded number of bundles is kept reachable. Visited bundles must not be
+ * modified afterwards.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class ConcurrentReportVisitor implements IReportVisitor, Closeable {
+
+    private static final int MAX_PENDING = 16;
+    private static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+    private final List<Lane> lanes = new ArrayList<>();
+    private final List<IReportVisitor> visitors;
+    private final Node root;
+
+    /**
+     * @param visitors
+     *            visitors to render concurrently
+     */
+    public ConcurrentReportVisitor(final List<IReportVisitor> visitors) {
+        this.visitors = new ArrayList<>(visitors);
+        root = new Node(visitors.size());
+        for (int i = 0; i < visitors.size(); i++) {
+            root.visitors[i] = visitors.get(i);
+            lanes.add(new Lane("jacoco-render-" + i));
+        }
+    }
+
+    @Override
+    public void visitInfo(final List<SessionInfo> sessionInfos,
+                          final Collection<ExecutionData> executionData) throws IOException {
+        for (int i = 0; i < lanes.size(); i++) {
+            final int lane = i;
+            lanes.get(lane).submit(new Task() {
+                @Override
+                public void run() throws IOException {
+                    visitors.get(lane).visitInfo(sessionInfos, executionData);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void visitBundle(final IBundleCoverage bundle,
+                            final ISourceFileLocator locator) throws IOException {
+        root.visitBundle(bundle, locator);
+    }
+
+    @Override
+    public IReportGroupVisitor visitGroup(final String name) throws IOException {
+        return root.visitGroup(name);
+    }
+
+    /**
+     * Finishes rendering and waits for every format to complete.
+     *
+     * @throws IOException
+     *             if any format has failed
+     */
+    @Override
+    public void visitEnd() throws IOException {
+        for (int i = 0; i < lanes.size(); i++) {
+            final int lane = i;
+            lanes.get(lane).submit(new Task() {
+                @Override
+                public void run() throws IOException {
+                    visitors.get(lane).visitEnd();
+                }
+            });
+        }
+
+        IOException failure = null;
+        for (final Lane lane : lanes) {
+            try {
+                lane.finish();
+            } catch (final IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Stops rendering threads, dropping pending work, and waits for calls
+     * in progress, so that streams formats write to may be closed next.
+     *
+     * @throws IOException
+     *             if a thread is still running after the timeout
+     */
+    @Override
+    public void close() throws IOException {
+        for (final Lane lane : lanes) {
+            lane.executor.shutdownNow();
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CLOSE_TIMEOUT_SECONDS);
+        for (final Lane lane : lanes) {
+            try {
+                if (!lane.executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw new IOException("Report rendering has not stopped in "
+                                          + CLOSE_TIMEOUT_SECONDS + " seconds");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while stopping report rendering");
+            }
+        }
+    }
+
+    /**
+     * Group visitors of every format for a single level of report tree.
+     * Slot {@code i} is only accessed from lane {@code i}.
+     */
+    private final class Node implements IReportGroupVisitor {
+        private final IReportGroupVisitor[] visitors;
+
+        private Node(final int size) {
+            this.visitors = new IReportGroupVisitor[size];
+        }
+
+        @Override
+        public void visitBundle(final IBundleCoverage bundle,
+                                final ISourceFileLocator locator) throws IOException {
+            for (int i = 0; i < lanes.size(); i++) {
+                final int lane = i;
+                lanes.get(lane).submit(new Task() {
+                    @Override
+                    public void run() throws IOException {
+                        visitors[lane].visitBundle(bundle, locator);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public IReportGroupVisitor visitGroup(final String name) throws IOException {
+            final Node child = new Node(visitors.length);
+            for (int i = 0; i < lanes.size(); i++) {
+                final int lane = i;
+                lanes.get(lane).submit(new Task() {
+                    @Override
+                    public void run() throws IOException {
+                        child.visitors[lane] = visitors[lane].visitGroup(name);
+                    }
+                });
+            }
+            return child;
+        }
+    }
+
+    private interface Task {
+        void run() throws IOException;
+    }
+
+    /**
+     * Single thread executing calls of one format in submission order.
+     */
+    private static final class Lane {
+        private final ExecutorService executor;
+        private final Semaphore pending = new Semaphore(MAX_PENDING);
+        private volatile Throwable failure;
+
+        private Lane(final String name) {
+            executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        private void submit(final Task task) throws IOException {
+            rethrow();
+            try {
+                pending.acquire();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while rendering report");
+            }
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (failure == null) {
+                            task.run();
+                        }
+                    } catch (final IOException | RuntimeException | Error e) {
+                        failure = e;
+                    } finally {
+                        pending.release();
+                    }
+                }
+            });
+        }
+
+        private void finish() throws IOException {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                throw new InterruptedIOException("Interrupted while rendering report");
+            }
+            rethrow();
+        }
+
+        private void rethrow() throws IOException {
+            final Throwable cause = failure;
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+        }
+    }
+}
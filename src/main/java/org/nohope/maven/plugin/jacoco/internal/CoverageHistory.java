@@ -0,0 +1,336 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ICoverageNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only store of per-module coverage counters of every report run.
+ * <p>
+ * Counters are kept in a file of fixed size records, one per module and
+ * run, with a header of {@value #HEADER_SIZE} bytes. A record holds the run
+ * timestamp, the run number, the module number and missed/covered pairs of
+ * all counter entities in {@link ICoverageNode.CounterEntity} order. Run
+ * numbers grow by one with every append, so runs with equal timestamps
+ * are still told apart. Module number
+ * {@value #OVERALL} stands for the sum of all modules; names of the others
+ * are listed one per line in a file next to it, with the
+ * {@code .names} extension.
+ * <p>
+ * Records of a run are appended with a single write under an exclusive
+ * file lock, so runs are stored contiguously even if several builds share
+ * the store. The store is read under a shared lock, in blocks backwards
+ * from the last run, so only requested runs are decoded. A record torn by
+ * an interrupted write is cut off before the next append.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class CoverageHistory {
+
+    /** Module number of overall counters. */
+    public static final int OVERALL = -1;
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final int MAGIC = 0x4a434853;
+    private static final int FORMAT_VERSION = 2;
+    private static final ICoverageNode.CounterEntity[] ENTITIES = ICoverageNode.CounterEntity.values();
+    private static final int RECORD_SIZE = 8 + 4 + 4 + ENTITIES.length * 8;
+    private static final int COUNTERS_OFFSET = 16;
+    private static final int BLOCK_RECORDS = 256;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File file;
+    private final File namesFile;
+
+    /**
+     * @param file
+     *            record file, created on first append
+     */
+    public CoverageHistory(final File file) {
+        this.file = file;
+        this.namesFile = new File(file.getPath() + ".names");
+    }
+
+    /**
+     * Appends counters of a single run.
+     *
+     * @param timestamp
+     *            run time in milliseconds
+     * @param overall
+     *            sum of all modules
+     * @param modules
+     *            counters by module name
+     * @throws IOException
+     *             if store can't be written or is not a history file
+     */
+    public void append(final long timestamp,
+                       final ICoverageNode overall,
+                       final Map<String, ? extends ICoverageNode> modules) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // concurrent builds sharing the directory append one at a time,
+            // names included
+            final FileLock lock = channel.lock();
+            try {
+                append(channel, timestamp, overall, modules);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    private void append(final FileChannel channel,
+                        final long timestamp,
+                        final ICoverageNode overall,
+                        final Map<String, ? extends ICoverageNode> modules) throws IOException {
+        final List<String> names = readNames();
+        final Map<String, Integer> numbers = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            numbers.put(names.get(i), i);
+        }
+
+        final long size = channel.size();
+        final long end = size < HEADER_SIZE
+                ? HEADER_SIZE
+                : HEADER_SIZE + (size - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+        if (size >= HEADER_SIZE) {
+            checkHeader(channel);
+        }
+        final int run = end == HEADER_SIZE ? 0 : readRun(channel, end - RECORD_SIZE) + 1;
+
+        final List<String> added = new ArrayList<>();
+        final ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * (modules.size() + 1));
+        put(records, timestamp, run, OVERALL, overall);
+        for (final Map.Entry<String, ? extends ICoverageNode> entry : modules.entrySet()) {
+            Integer number = numbers.get(entry.getKey());
+            if (number == null) {
+                number = names.size() + added.size();
+                numbers.put(entry.getKey(), number);
+                added.add(entry.getKey());
+            }
+            put(records, timestamp, run, number, entry.getValue());
+        }
+        records.flip();
+
+        // names first: records never refer to unknown modules
+        if (!added.isEmpty()) {
+            Files.write(namesFile.toPath(), added, UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        if (size < HEADER_SIZE) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(RECORD_SIZE).putInt(0);
+            header.flip();
+            channel.truncate(0);
+            writeFully(channel, header, 0);
+        } else {
+            channel.truncate(end);
+        }
+        writeFully(channel, records, end);
+    }
+
+    /**
+     * Reads latest runs.
+     *
+     * @param runs
+     *            maximum number of runs to read
+     * @return runs in chronological order, empty if there is no store
+     * @throws IOException
+     *             if store can't be read or is not a history file
+     */
+    public List<Run> read(final int runs) throws IOException {
+        if (!file.isFile() || runs <= 0) {
+            return Collections.emptyList();
+        }
+
+        final List<Run> result = new ArrayList<>();
+        final List<String> names;
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // appends of concurrent builds are either complete or not seen
+            final FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+            try {
+                names = readNames();
+                read(channel, runs, result);
+            } finally {
+                lock.release();
+            }
+        }
+
+        for (final Run run : result) {
+            // records are read backwards
+            final List<Integer> numbers = new ArrayList<>(run.numbers.keySet());
+            Collections.reverse(numbers);
+            for (final Integer module : numbers) {
+                final String name = module < names.size() ? names.get(module) : "#" + module;
+                run.modules.put(name, run.numbers.get(module));
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void read(final FileChannel channel, final int runs, final List<Run> result) throws IOException {
+        checkHeader(channel);
+        final long count = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        final ByteBuffer block = ByteBuffer.allocate(BLOCK_RECORDS * RECORD_SIZE);
+
+        Run run = null;
+        long last = count;
+        while (last > 0) {
+            final long first = Math.max(0, last - BLOCK_RECORDS);
+            block.clear();
+            block.limit((int) (last - first) * RECORD_SIZE);
+            readFully(channel, block, HEADER_SIZE + first * RECORD_SIZE);
+
+            for (int i = (int) (last - first) - 1; i >= 0; i--) {
+                final int offset = i * RECORD_SIZE;
+                final int number = block.getInt(offset + 8);
+                if (run == null || run.number != number) {
+                    if (result.size() == runs) {
+                        return;
+                    }
+                    run = new Run(block.getLong(offset), number);
+                    result.add(run);
+                }
+
+                final int module = block.getInt(offset + 12);
+                final long[] counters = new long[ENTITIES.length * 2];
+                for (int e = 0; e < counters.length; e++) {
+                    counters[e] = block.getInt(offset + COUNTERS_OFFSET + e * 4) & 0xffffffffL;
+                }
+                if (module == OVERALL) {
+                    run.overall = counters;
+                } else {
+                    run.numbers.put(module, counters);
+                }
+            }
+            last = first;
+        }
+    }
+
+    private static int readRun(final FileChannel channel, final long position) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(4);
+        readFully(channel, buffer, position + 8);
+        return buffer.getInt(0);
+    }
+
+    private static void put(final ByteBuffer records,
+                            final long timestamp,
+                            final int run,
+                            final int module,
+                            final ICoverageNode node) {
+        records.putLong(timestamp);
+        records.putInt(run);
+        records.putInt(module);
+        for (final ICoverageNode.CounterEntity entity : ENTITIES) {
+            final ICounter counter = node.getCounter(entity);
+            records.putInt(counter.getMissedCount());
+            records.putInt(counter.getCoveredCount());
+        }
+    }
+
+    private void checkHeader(final FileChannel channel) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException(file + " is not a coverage history file");
+            }
+        }
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION || header.getInt() != RECORD_SIZE) {
+            throw new IOException(file + " is not a coverage history file");
+        }
+    }
+
+    private static void readFully(final FileChannel channel,
+                                  final ByteBuffer buffer,
+                                  final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("Unexpected end of coverage history");
+            }
+            offset += read;
+        }
+    }
+
+    private static void writeFully(final FileChannel channel,
+                                   final ByteBuffer buffer,
+                                   final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private List<String> readNames() throws IOException {
+        return namesFile.isFile()
+                ? Files.readAllLines(namesFile.toPath(), UTF_8)
+                : new ArrayList<String>();
+    }
+
+    /**
+     * Counters of a single run.
+     */
+    public static final class Run {
+        private final long timestamp;
+        private final int number;
+        private long[] overall;
+        private final Map<Integer, long[]> numbers = new LinkedHashMap<>();
+        private final Map<String, long[]> modules = new LinkedHashMap<>();
+
+        private Run(final long timestamp, final int number) {
+            this.timestamp = timestamp;
+            this.number = number;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return missed and covered count of overall counter
+         */
+        public long[] getOverall(final ICoverageNode.CounterEntity entity) {
+            return overall == null ? null : pair(overall, entity);
+        }
+
+        /**
+         * @return missed and covered count of module counter or
+         *         {@code null} if module was not part of the run
+         */
+        public long[] getModule(final String module, final ICoverageNode.CounterEntity entity) {
+            final long[] counters = modules.get(module);
+            return counters == null ? null : pair(counters, entity);
+        }
+
+        /**
+         * @return names of modules in the run
+         */
+        public List<String> getModules() {
+            return new ArrayList<>(modules.keySet());
+        }
+
+        private static long[] pair(final long[] counters, final ICoverageNode.CounterEntity entity) {
+            return new long[] {counters[entity.ordinal() * 2], counters[entity.ordinal() * 2 + 1]};
+        }
+    }
+}
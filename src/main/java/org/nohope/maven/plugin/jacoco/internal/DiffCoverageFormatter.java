@@ -0,0 +1,218 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Line coverage of lines changed since a base revision, in JSON.
+ * <p>
+ * Source files of visited bundles are looked up in source roots of the
+ * bundle and matched against {@link GitDiff}; only changed lines holding
+ * code are reported:
+ * <pre>
+ * {"base":"origin/master","changed":12,"covered":9,"partlyCovered":1,"missed":2,"files":[
+ *   {"path":"core/src/main/java/org/example/Foo.java","module":"core","covered":[10,11],"partlyCovered":[12],"missed":[20]}
+ * ]}
+ * </pre>
+ * The report is written on {@link IReportVisitor#visitEnd()}, which closes
+ * the output.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class DiffCoverageFormatter {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final GitDiff diff;
+    private final Map<IBundleCoverage, List<File>> sourceRoots = new IdentityHashMap<>();
+
+    private int covered;
+    private int partlyCovered;
+    private int missed;
+
+    /**
+     * @param diff
+     *            changed lines
+     */
+    public DiffCoverageFormatter(final GitDiff diff) {
+        this.diff = diff;
+    }
+
+    /**
+     * Sets source roots of a bundle, must be called before the bundle is
+     * visited. Bundles without roots have no changed lines.
+     *
+     * @param bundle
+     *            bundle to visit
+     * @param roots
+     *            source roots of its module
+     */
+    public synchronized void setSourceRoots(final IBundleCoverage bundle, final List<File> roots) {
+        sourceRoots.put(bundle, roots);
+    }
+
+    private synchronized List<File> takeSourceRoots(final IBundleCoverage bundle) {
+        final List<File> roots = sourceRoots.remove(bundle);
+        return roots == null ? Collections.<File>emptyList() : roots;
+    }
+
+    /**
+     * Creates visitor writing report to given stream.
+     *
+     * @param output
+     *            target stream
+     * @return report visitor
+     */
+    public IReportVisitor createVisitor(final OutputStream output) {
+        return new Visitor(output);
+    }
+
+    /** @return changed lines with code, available after visitEnd */
+    public int getChanged() {
+        return covered + partlyCovered + missed;
+    }
+
+    /** @return fully covered changed lines, available after visitEnd */
+    public int getCovered() {
+        return covered;
+    }
+
+    /** @return partly covered changed lines, available after visitEnd */
+    public int getPartlyCovered() {
+        return partlyCovered;
+    }
+
+    /** @return missed changed lines, available after visitEnd */
+    public int getMissed() {
+        return missed;
+    }
+
+    private final class Visitor implements IReportVisitor, IReportGroupVisitor {
+        private final OutputStream output;
+        private final List<String> files = new ArrayList<>();
+
+        private Visitor(final OutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void visitInfo(final List<SessionInfo> sessionInfos,
+                              final Collection<ExecutionData> executionData) {
+            // lines only
+        }
+
+        @Override
+        public IReportGroupVisitor visitGroup(final String name) {
+            // groups are not reported, files carry module names
+            return this;
+        }
+
+        @Override
+        public void visitBundle(final IBundleCoverage bundle,
+                                final ISourceFileLocator locator) throws IOException {
+            final List<File> roots = takeSourceRoots(bundle);
+
+            for (final IPackageCoverage pkg : bundle.getPackages()) {
+                for (final ISourceFileCoverage source : pkg.getSourceFiles()) {
+                    final String path = pkg.getName().isEmpty()
+                            ? source.getName()
+                            : pkg.getName() + '/' + source.getName();
+                    for (final File root : roots) {
+                        final File file = new File(root, path);
+                        if (file.isFile()) {
+                            visitSourceFile(bundle.getName(), file.getCanonicalFile(), source);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void visitEnd() throws IOException {
+            final StringBuilder json = new StringBuilder("{");
+            Json.field(json, "base", diff.getBase());
+            Json.field(json, "changed", getChanged());
+            Json.field(json, "covered", covered);
+            Json.field(json, "partlyCovered", partlyCovered);
+            Json.field(json, "missed", missed);
+            json.append(",\"files\":[");
+            for (int i = 0; i < files.size(); i++) {
+                json.append(i == 0 ? "\n  " : ",\n  ").append(files.get(i));
+            }
+            json.append("\n]}\n");
+
+            try (final OutputStream target = output) {
+                target.write(json.toString().getBytes(UTF_8));
+            }
+        }
+
+        private void visitSourceFile(final String module,
+                                     final File file,
+                                     final ISourceFileCoverage source) {
+            final StringBuilder fileCovered = new StringBuilder();
+            final StringBuilder filePartlyCovered = new StringBuilder();
+            final StringBuilder fileMissed = new StringBuilder();
+            for (int line = source.getFirstLine(); line > 0 && line <= source.getLastLine(); line++) {
+                if (!diff.isChanged(file, line)) {
+                    continue;
+                }
+                switch (source.getLine(line).getStatus()) {
+                    case ICounter.FULLY_COVERED:
+                        append(fileCovered, line);
+                        covered++;
+                        break;
+                    case ICounter.PARTLY_COVERED:
+                        append(filePartlyCovered, line);
+                        partlyCovered++;
+                        break;
+                    case ICounter.NOT_COVERED:
+                        append(fileMissed, line);
+                        missed++;
+                        break;
+                    default:
+                        // no code on this line
+                        break;
+                }
+            }
+
+            if (fileCovered.length() + filePartlyCovered.length() + fileMissed.length() == 0) {
+                return;
+            }
+            final StringBuilder json = new StringBuilder("{");
+            Json.field(json, "path", diff.getPath(file));
+            Json.field(json, "module", module);
+            json.append(",\"covered\":[").append(fileCovered).append(']');
+            json.append(",\"partlyCovered\":[").append(filePartlyCovered).append(']');
+            json.append(",\"missed\":[").append(fileMissed).append(']');
+            json.append('}');
+            files.add(json.toString());
+        }
+    }
+
+    private static void append(final StringBuilder lines, final int line) {
+        if (lines.length() > 0) {
+            lines.append(',');
+        }
+        lines.append(line);
+    }
+}
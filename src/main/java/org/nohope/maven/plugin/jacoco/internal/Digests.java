@@ -0,0 +1,67 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content digest helpers used to detect unchanged files.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class Digests {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Digests() {
+    }
+
+    /**
+     * @return new SHA-1 digest
+     */
+    public static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param file
+     *            file to digest
+     * @return SHA-1 of file content
+     * @throws IOException
+     *             if file can't be read
+     */
+    public static byte[] sha1(final File file) throws IOException {
+        final MessageDigest digest = sha1();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (final InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * @param bytes
+     *            digest value
+     * @return lower case hex representation
+     */
+    public static String toHex(final byte[] bytes) {
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16));
+            builder.append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+}
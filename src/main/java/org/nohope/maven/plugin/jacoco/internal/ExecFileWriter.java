@@ -0,0 +1,162 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Writes merged execution data to several locations.
+ * <p>
+ * Data is serialized only once, other locations receive a hard link or a
+ * plain copy of the first file. Locations which already hold the same
+ * content are left untouched.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class ExecFileWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private int written;
+    private int linked;
+    private int copied;
+    private int skipped;
+    private long bytesWritten;
+
+    /**
+     * Serialized execution data.
+     */
+    public interface Content {
+        /**
+         * @param output
+         *            stream to write execution data file contents to
+         * @throws IOException
+         *             if data can't be written
+         */
+        void writeTo(OutputStream output) throws IOException;
+    }
+
+    /**
+     * Saves execution data to every given file.
+     *
+     * @param content
+     *            execution data to save, serialized once
+     * @param files
+     *            target locations, duplicates are allowed
+     * @throws IOException
+     *             if any location can't be written
+     */
+    public void write(final Content content, final Collection<File> files) throws IOException {
+        final Set<File> targets = new LinkedHashSet<>();
+        for (final File file : files) {
+            targets.add(file.getCanonicalFile());
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        final File primary = targets.iterator().next();
+        final byte[] digest = save(content, primary);
+
+        for (final File target : targets) {
+            if (target.equals(primary)) {
+                continue;
+            }
+
+            if (target.isFile() && target.length() == primary.length()
+                && Arrays.equals(digest, Digests.sha1(target))) {
+                skipped++;
+                continue;
+            }
+
+            replace(primary, target);
+        }
+    }
+
+    /** @return number of files serialized from scratch */
+    public int getWritten() {
+        return written;
+    }
+
+    /** @return number of files created as hard links */
+    public int getLinked() {
+        return linked;
+    }
+
+    /** @return number of files created as copies */
+    public int getCopied() {
+        return copied;
+    }
+
+    /** @return number of files which already had the same content */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /** @return number of bytes serialized or copied */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private byte[] save(final Content content, final File file) throws IOException {
+        final File temp = createTemp(file);
+        try {
+            final MessageDigest digest = Digests.sha1();
+            try (final OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE), digest)) {
+                content.writeTo(out);
+            }
+
+            final byte[] result = digest.digest();
+            bytesWritten += temp.length();
+            if (file.isFile() && file.length() == temp.length()
+                && Arrays.equals(result, Digests.sha1(file))) {
+                skipped++;
+            } else {
+                // replace rather than truncate, files may be hard links from previous runs
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                written++;
+            }
+            return result;
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private void replace(final File source, final File target) throws IOException {
+        final File temp = createTemp(target);
+        try {
+            Files.delete(temp.toPath());
+            try {
+                Files.createLink(temp.toPath(), source.toPath());
+                linked++;
+            } catch (final IOException | UnsupportedOperationException e) {
+                Files.copy(source.toPath(), temp.toPath());
+                bytesWritten += source.length();
+                copied++;
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private static File createTemp(final File file) throws IOException {
+        final File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs() && !parent.isDirectory()) {
+            throw new IOException("Unable to create dir " + parent);
+        }
+        return File.createTempFile(file.getName(), ".tmp", parent);
+    }
+}
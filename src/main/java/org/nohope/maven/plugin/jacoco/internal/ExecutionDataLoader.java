@@ -0,0 +1,288 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.jacoco.core.data.ExecutionDataReader;
+import org.jacoco.core.data.ISessionInfoVisitor;
+import org.jacoco.core.tools.ExecFileLoader;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads execution data files in parallel.
+ * <p>
+ * Each worker parses files into its own {@link ExecFileLoader}, partial
+ * stores are merged once all files are read. Files with the same content
+ * are loaded only once, large files are read through memory mapping.
+ * Mapped buffers can't be released explicitly and keep their files locked
+ * on Windows until garbage collected, so files are never mapped there and
+ * large ones are streamed instead.
+ * Sessions may be passed through a {@link SessionCompactor} while files
+ * are read.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class ExecutionDataLoader {
+
+    private static final boolean MAPPING_ALLOWED = !SystemUtils.IS_OS_WINDOWS;
+
+    private final int threads;
+    private final long mappingThreshold;
+
+    private final AtomicInteger loadedFiles = new AtomicInteger();
+    private final AtomicInteger duplicateFiles = new AtomicInteger();
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    private SessionCompactor sessionCompactor;
+    private int sessions;
+    private int classes;
+
+    /**
+     * @param threads
+     *            maximum number of files parsed at the same time
+     * @param mappingThreshold
+     *            size in bytes starting from which files are memory mapped,
+     *            ignored on Windows
+     */
+    public ExecutionDataLoader(final int threads, final long mappingThreshold) {
+        this.threads = Math.max(1, threads);
+        this.mappingThreshold = mappingThreshold;
+    }
+
+    /**
+     * @param sessionCompactor
+     *            compactor shared by all workers or {@code null} to keep
+     *            every session
+     */
+    public void setSessionCompactor(final SessionCompactor sessionCompactor) {
+        this.sessionCompactor = sessionCompactor;
+    }
+
+    /**
+     * Loads and merges given execution data files.
+     *
+     * @param files
+     *            files to load, duplicates are allowed
+     * @return loader holding merged execution data
+     * @throws IOException
+     *             if any file can't be read
+     */
+    public ExecFileLoader load(final Collection<File> files) throws IOException {
+        final Set<File> unique = new LinkedHashSet<>();
+        for (final File file : files) {
+            if (!unique.add(file.getCanonicalFile())) {
+                duplicateFiles.incrementAndGet();
+            }
+        }
+
+        final Queue<File> queue = new ConcurrentLinkedQueue<>(unique);
+        final Set<String> digests = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        final int workers = Math.max(1, Math.min(threads, unique.size()));
+
+        final List<ExecFileLoader> partials = new ArrayList<>();
+        if (workers == 1) {
+            partials.add(new Worker(queue, digests).call());
+        } else {
+            final ExecutorService executor = Executors.newFixedThreadPool(workers);
+            try {
+                final List<Future<ExecFileLoader>> futures = new ArrayList<>();
+                for (int i = 0; i < workers; i++) {
+                    futures.add(executor.submit(new Worker(queue, digests)));
+                }
+                for (final Future<ExecFileLoader> future : futures) {
+                    partials.add(Futures.await(future));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        final ExecFileLoader result = new ExecFileLoader();
+        for (final ExecFileLoader partial : partials) {
+            partial.getSessionInfoStore().accept(result.getSessionInfoStore());
+            partial.getExecutionDataStore().accept(result.getExecutionDataStore());
+        }
+        if (sessionCompactor != null) {
+            sessionCompactor.accept(result.getSessionInfoStore());
+        }
+
+        sessions = result.getSessionInfoStore().getInfos().size();
+        classes = result.getExecutionDataStore().getContents().size();
+        return result;
+    }
+
+    /** @return number of files actually parsed */
+    public int getLoadedFiles() {
+        return loadedFiles.get();
+    }
+
+    /** @return number of files skipped because of the same path or content */
+    public int getDuplicateFiles() {
+        return duplicateFiles.get();
+    }
+
+    /** @return number of bytes read from disk */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /** @return number of sessions in merged data */
+    public int getSessions() {
+        return sessions;
+    }
+
+    /** @return number of classes in merged data */
+    public int getClasses() {
+        return classes;
+    }
+
+    /**
+     * Drains shared queue of files into a private loader.
+     */
+    private final class Worker implements Callable<ExecFileLoader> {
+        private final Queue<File> queue;
+        private final Set<String> digests;
+        private final MessageDigest digest = Digests.sha1();
+        private final ExecFileLoader loader = new ExecFileLoader();
+        private final ISessionInfoVisitor sessionVisitor = sessionCompactor == null
+                ? loader.getSessionInfoStore()
+                : sessionCompactor;
+
+        private Worker(final Queue<File> queue, final Set<String> digests) {
+            this.queue = queue;
+            this.digests = digests;
+        }
+
+        private void read(final InputStream in) throws IOException {
+            final ExecutionDataReader reader = new ExecutionDataReader(in);
+            reader.setSessionInfoVisitor(sessionVisitor);
+            reader.setExecutionDataVisitor(loader.getExecutionDataStore());
+            reader.read();
+        }
+
+        @Override
+        public ExecFileLoader call() throws IOException {
+            File file;
+            while ((file = queue.poll()) != null) {
+                final long length = file.length();
+                if (length > Integer.MAX_VALUE || length >= mappingThreshold && !MAPPING_ALLOWED) {
+                    loadStreamed(file);
+                } else if (length >= mappingThreshold) {
+                    loadMapped(file);
+                } else {
+                    loadBytes(file);
+                }
+            }
+            return loader;
+        }
+
+        private void loadBytes(final File file) throws IOException {
+            final byte[] bytes = Files.readAllBytes(file.toPath());
+            bytesRead.addAndGet(bytes.length);
+            digest.reset();
+            if (digests.add(Digests.toHex(digest.digest(bytes)))) {
+                read(new ByteArrayInputStream(bytes));
+                loadedFiles.incrementAndGet();
+            } else {
+                duplicateFiles.incrementAndGet();
+            }
+        }
+
+        private void loadStreamed(final File file) throws IOException {
+            // too large to buffer at once and not mapped: digest while parsing
+            // into a separate loader and merge only unseen content
+            final ExecFileLoader partial = new ExecFileLoader();
+            digest.reset();
+            try (final InputStream in = new DigestInputStream(
+                    new BufferedInputStream(new FileInputStream(file)), digest)) {
+                partial.load(in);
+            }
+            bytesRead.addAndGet(file.length());
+            if (digests.add(Digests.toHex(digest.digest()))) {
+                partial.getSessionInfoStore().accept(sessionVisitor);
+                partial.getExecutionDataStore().accept(loader.getExecutionDataStore());
+                loadedFiles.incrementAndGet();
+            } else {
+                duplicateFiles.incrementAndGet();
+            }
+        }
+
+        private void loadMapped(final File file) throws IOException {
+            try (final RandomAccessFile raf = new RandomAccessFile(file, "r");
+                 final FileChannel channel = raf.getChannel()) {
+                final MappedByteBuffer buffer =
+                        channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                bytesRead.addAndGet(buffer.remaining());
+                digest.reset();
+                digest.update(buffer.duplicate());
+                if (digests.add(Digests.toHex(digest.digest()))) {
+                    read(new ByteBufferInputStream(buffer));
+                    loadedFiles.incrementAndGet();
+                } else {
+                    duplicateFiles.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Input stream view of a byte buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
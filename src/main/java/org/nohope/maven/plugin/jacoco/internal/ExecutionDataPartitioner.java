@@ -0,0 +1,455 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataReader;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.core.data.IExecutionDataVisitor;
+import org.jacoco.core.data.ISessionInfoVisitor;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.data.SessionInfoStore;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits execution data of a reactor into per-module slices on disk.
+ * <p>
+ * Classes are assigned to modules by VM name before any execution data is
+ * read. Files are then streamed once and every record is appended to the
+ * slice of each module owning the class, so only one slice has to be held
+ * in memory at a time. Files are digested while they are streamed; when a
+ * file turns out to have the content of an earlier one, its records are
+ * taken back by truncating slices to their length before the file. Records
+ * of classes no module owns go to a separate slice, which is only read
+ * back for {@link #writeTo(OutputStream)}.
+ * <p>
+ * Probe-less copies of all records are kept for
+ * {@link org.jacoco.report.IReportVisitor#visitInfo}, which only needs
+ * class ids and names.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class ExecutionDataPartitioner implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File directory;
+    private final long bufferLimit;
+    private final Map<String, int[]> owners = new HashMap<>();
+    private final Slice[] slices;
+    private final Slice unassigned;
+    private final SessionInfoStore sessionInfos = new SessionInfoStore();
+    private final Map<Long, ExecutionData> index = new HashMap<>();
+
+    private SessionCompactor sessionCompactor;
+    private boolean dropUnassigned;
+    private long buffered;
+    private int loadedFiles;
+    private int duplicateFiles;
+    private long bytesRead;
+
+    /**
+     * @param directory
+     *            empty directory to keep slices in, removed on close
+     * @param modules
+     *            number of modules
+     * @param bufferLimit
+     *            bytes of records buffered in memory before slices are
+     *            appended to disk
+     */
+    public ExecutionDataPartitioner(final File directory, final int modules, final long bufferLimit) {
+        this.directory = directory;
+        this.bufferLimit = bufferLimit;
+        this.slices = new Slice[modules];
+        for (int i = 0; i < modules; i++) {
+            slices[i] = new Slice(new File(directory, i + ".exec"));
+        }
+        this.unassigned = new Slice(new File(directory, "unassigned.exec"));
+    }
+
+    /**
+     * @param dropUnassigned
+     *            {@code true} to discard records of classes no module owns
+     *            instead of keeping them for index and merged output
+     */
+    public void setDropUnassigned(final boolean dropUnassigned) {
+        this.dropUnassigned = dropUnassigned;
+    }
+
+    /**
+     * @param sessionCompactor
+     *            compactor to pass sessions through or {@code null} to keep
+     *            every session
+     */
+    public void setSessionCompactor(final SessionCompactor sessionCompactor) {
+        this.sessionCompactor = sessionCompactor;
+    }
+
+    /**
+     * Makes module an owner of the class.
+     *
+     * @param className
+     *            VM name of the class
+     * @param module
+     *            module number
+     */
+    public void assign(final String className, final int module) {
+        final int[] current = owners.get(className);
+        if (current == null) {
+            owners.put(className, new int[] {module});
+            return;
+        }
+        for (final int owner : current) {
+            if (owner == module) {
+                return;
+            }
+        }
+        final int[] updated = new int[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = module;
+        owners.put(className, updated);
+    }
+
+    /**
+     * Reads given files and distributes records over slices. Files with
+     * the same path or content are read once.
+     *
+     * @param files
+     *            execution data files
+     * @throws IOException
+     *             if any file can't be read or slice can't be written
+     */
+    public void partition(final Collection<File> files) throws IOException {
+        final Set<File> unique = new LinkedHashSet<>();
+        for (final File file : files) {
+            if (!unique.add(file.getCanonicalFile())) {
+                duplicateFiles++;
+            }
+        }
+
+        final Set<String> digests = new HashSet<>();
+        final MessageDigest digest = Digests.sha1();
+        final ISessionInfoVisitor sessionVisitor = sessionCompactor == null ? sessionInfos : sessionCompactor;
+        for (final File file : unique) {
+            mark();
+            final List<SessionInfo> sessions = new ArrayList<>();
+            digest.reset();
+            try (final InputStream in = new DigestInputStream(
+                    new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE), digest)) {
+                final ExecutionDataReader reader = new ExecutionDataReader(in);
+                reader.setSessionInfoVisitor(new ISessionInfoVisitor() {
+                    @Override
+                    public void visitSessionInfo(final SessionInfo info) {
+                        sessions.add(info);
+                    }
+                });
+                reader.setExecutionDataVisitor(new IExecutionDataVisitor() {
+                    @Override
+                    public void visitClassExecution(final ExecutionData data) {
+                        distribute(data);
+                    }
+                });
+                reader.read();
+            } catch (final SliceWriteException e) {
+                throw e.getCause();
+            }
+            bytesRead += file.length();
+
+            if (!digests.add(Digests.toHex(digest.digest()))) {
+                // same classes as an earlier file, so the index is unchanged
+                reset();
+                duplicateFiles++;
+                continue;
+            }
+            for (final SessionInfo info : sessions) {
+                sessionVisitor.visitSessionInfo(info);
+            }
+            loadedFiles++;
+        }
+        flush();
+        if (sessionCompactor != null) {
+            sessionCompactor.accept(sessionInfos);
+        }
+    }
+
+    /**
+     * @return sessions of all read files
+     */
+    public SessionInfoStore getSessionInfos() {
+        return sessionInfos;
+    }
+
+    /**
+     * @return every class seen in execution data with ids and names only
+     */
+    public Collection<ExecutionData> getIndex() {
+        return Collections.unmodifiableCollection(index.values());
+    }
+
+    /**
+     * Reads slice of a module back.
+     *
+     * @param module
+     *            module number
+     * @return merged execution data of classes owned by the module
+     * @throws IOException
+     *             if slice can't be read
+     */
+    public ExecutionDataStore load(final int module) throws IOException {
+        return slices[module].load();
+    }
+
+    /**
+     * Writes sessions and execution data of all slices, including classes
+     * no module owns, as a single execution data file. Slices are streamed
+     * record by record, so a class may be written several times, as in
+     * the original files, and is merged by readers.
+     *
+     * @param output
+     *            target stream
+     * @throws IOException
+     *             if slices can't be read or output can't be written
+     */
+    public void writeTo(final OutputStream output) throws IOException {
+        final ExecutionDataWriter writer = new ExecutionDataWriter(output);
+        sessionInfos.accept(writer);
+
+        // classes owned by several modules are in several slices, each one
+        // is taken from the first slice containing it
+        final Set<Long> written = new HashSet<>();
+        final List<Slice> all = new ArrayList<>(slices.length + 1);
+        Collections.addAll(all, slices);
+        all.add(unassigned);
+        for (final Slice slice : all) {
+            final Set<Long> current = new HashSet<>();
+            slice.accept(new IExecutionDataVisitor() {
+                @Override
+                public void visitClassExecution(final ExecutionData data) {
+                    if (!written.contains(data.getId())) {
+                        current.add(data.getId());
+                        writer.visitClassExecution(data);
+                    }
+                }
+            });
+            written.addAll(current);
+        }
+    }
+
+    /** @return number of files actually read */
+    public int getLoadedFiles() {
+        return loadedFiles;
+    }
+
+    /** @return number of files skipped because of the same path or content */
+    public int getDuplicateFiles() {
+        return duplicateFiles;
+    }
+
+    /** @return number of bytes read from execution data files */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Removes slices from disk.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!directory.exists()) {
+            return;
+        }
+        Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException e) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void distribute(final ExecutionData data) {
+        final int[] modules = owners.get(data.getName());
+        if (modules == null && dropUnassigned) {
+            return;
+        }
+
+        final ExecutionData known = index.get(data.getId());
+        if (known == null) {
+            index.put(data.getId(), new ExecutionData(data.getId(), data.getName(), 0));
+        } else if (!known.getName().equals(data.getName())) {
+            throw new IllegalStateException(String.format(
+                    "Different class names %s and %s for id %016x.", known.getName(), data.getName(),
+                    Long.valueOf(data.getId())));
+        }
+
+        try {
+            if (modules == null) {
+                unassigned.append(data);
+            } else {
+                for (final int module : modules) {
+                    slices[module].append(data);
+                }
+            }
+
+            if (buffered >= bufferLimit) {
+                flush();
+            }
+        } catch (final IOException e) {
+            throw new SliceWriteException(e);
+        }
+    }
+
+    private void flush() throws IOException {
+        for (final Slice slice : slices) {
+            slice.flush();
+        }
+        unassigned.flush();
+        buffered = 0;
+    }
+
+    private void mark() {
+        for (final Slice slice : slices) {
+            slice.mark();
+        }
+        unassigned.mark();
+    }
+
+    /**
+     * Drops records appended to slices since the last {@link #mark()}.
+     */
+    private void reset() throws IOException {
+        flush();
+        for (final Slice slice : slices) {
+            slice.reset();
+        }
+        unassigned.reset();
+    }
+
+    /**
+     * Execution data of one module. Records are buffered in memory and
+     * appended to the file in chunks; every chunk starts with its own
+     * header, which the reader accepts in the middle of a stream.
+     */
+    private final class Slice {
+        private final File file;
+        private ByteArrayOutputStream buffer;
+        private ExecutionDataWriter writer;
+        private long persisted;
+        private long marked;
+
+        private Slice(final File file) {
+            this.file = file;
+        }
+
+        private void append(final ExecutionData data) throws IOException {
+            if (writer == null) {
+                buffer = new ByteArrayOutputStream();
+                writer = new ExecutionDataWriter(buffer);
+            }
+            final int before = buffer.size();
+            writer.visitClassExecution(data);
+            buffered += buffer.size() - before;
+        }
+
+        private void flush() throws IOException {
+            if (writer == null) {
+                return;
+            }
+            try (final OutputStream out = new FileOutputStream(file, true)) {
+                buffer.writeTo(out);
+            }
+            persisted += buffer.size();
+            buffer = null;
+            writer = null;
+        }
+
+        private void mark() {
+            marked = persisted + (buffer == null ? 0 : buffer.size());
+        }
+
+        /**
+         * Truncates flushed slice to the marked length. A chunk cut in the
+         * middle is still valid, as records are never split.
+         */
+        private void reset() throws IOException {
+            if (persisted == marked) {
+                return;
+            }
+            try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(marked);
+            }
+            persisted = marked;
+        }
+
+        private ExecutionDataStore load() throws IOException {
+            final ExecutionDataStore store = new ExecutionDataStore();
+            accept(store);
+            return store;
+        }
+
+        private void accept(final IExecutionDataVisitor visitor) throws IOException {
+            if (!file.isFile()) {
+                return;
+            }
+            try (final InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)) {
+                final ExecutionDataReader reader = new ExecutionDataReader(in);
+                reader.setSessionInfoVisitor(new ISessionInfoVisitor() {
+                    @Override
+                    public void visitSessionInfo(final SessionInfo info) {
+                        // sessions are kept in memory
+                    }
+                });
+                reader.setExecutionDataVisitor(visitor);
+                reader.read();
+            }
+        }
+    }
+
+    /**
+     * Carries slice write failures out of reader callbacks.
+     */
+    private static final class SliceWriteException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private SliceWriteException(final IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package org.nohope.maven.plugin.jacoco.internal;
 
 import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.SelectorUtils;
 import org.codehaus.plexus.util.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 /**
@@ -14,10 +23,27 @@ public class FileFilter {
 
     private static final String DEFAULT_INCLUDES = "**";
     private static final String DEFAULT_EXCLUDES = "";
+    private static final String ANY_SUFFIX = File.separator + "**";
 
     private final List<String> includes;
     private final List<String> excludes;
 
+    private final List<String> includePatterns;
+    private final List<String> excludePatterns;
+
+    /**
+     * Callback receiving files accepted by {@link #scan(File, Visitor)}.
+     */
+    public interface Visitor {
+        /**
+         * @param file
+         *            accepted file
+         * @throws IOException
+         *             if file processing fails
+         */
+        void visitFile(File file) throws IOException;
+    }
+
     /**
      * Construct a new FileFilter
      *
@@ -29,6 +55,8 @@ public class FileFilter {
     public FileFilter(final List<String> includes, final List<String> excludes) {
         this.includes = includes;
         this.excludes = excludes;
+        this.includePatterns = compile(includes, DEFAULT_INCLUDES, false);
+        this.excludePatterns = compile(excludes, DEFAULT_EXCLUDES, true);
     }
 
     /**
@@ -40,9 +68,72 @@ public class FileFilter {
      * @throws IOException
      *             if file system access fails
      */
-    @SuppressWarnings("unchecked")
     public List<String> getFileNames(final File directory) throws IOException {
-        return FileUtils.getFileNames(directory, getIncludes(), getExcludes(), false);
+        final Path base = directory.toPath();
+        final List<String> result = new ArrayList<>();
+        scan(directory, new Visitor() {
+            @Override
+            public void visitFile(final File file) {
+                result.add(base.relativize(file.toPath()).toString());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Walks directory passing every included and not excluded file to
+     * visitor as soon as it is found. Subtrees which are excluded as a
+     * whole, or can't contain included files, are not entered. Plexus
+     * default excludes (SCM metadata and the like) are applied too.
+     *
+     * @param directory
+     *            the directory to scan
+     * @param visitor
+     *            callback for accepted files
+     * @throws IOException
+     *             if file system access fails or visitor fails
+     */
+    public void scan(final File directory, final Visitor visitor) throws IOException {
+        if (!directory.isDirectory()) {
+            return;
+        }
+
+        final Path base = directory.toPath();
+        Files.walkFileTree(base, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(final Path dir,
+                                                             final BasicFileAttributes attrs) {
+                        if (dir.equals(base)) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                        final String name = base.relativize(dir).toString();
+                        return couldHoldIncluded(name) && !isExcludedTree(name)
+                                ? FileVisitResult.CONTINUE
+                                : FileVisitResult.SKIP_SUBTREE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(final Path file,
+                                                     final BasicFileAttributes attrs) throws IOException {
+                        if (attrs.isRegularFile() && isSelected(base.relativize(file).toString())) {
+                            visitor.visitFile(file.toFile());
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+    }
+
+    /**
+     * Checks whether a path relative to the scanned root, e.g. an archive
+     * entry name, is included and not excluded.
+     *
+     * @param path
+     *            {@code /}-separated relative path
+     * @return {@code true} if path matches the filter
+     */
+    public boolean matches(final String path) {
+        return isSelected(path.replace('/', File.separatorChar));
     }
 
     /**
@@ -63,6 +154,74 @@ public class FileFilter {
         return buildPattern(this.excludes, DEFAULT_EXCLUDES);
     }
 
+    private boolean isSelected(final String name) {
+        return matchesAny(includePatterns, name) && !matchesAny(excludePatterns, name);
+    }
+
+    private boolean couldHoldIncluded(final String directory) {
+        for (final String pattern : includePatterns) {
+            if (SelectorUtils.matchPatternStart(pattern, directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if every path under the directory is excluded,
+     *         e.g. {@code a/generated} for {@code **}{@code /generated/**}
+     */
+    private boolean isExcludedTree(final String directory) {
+        for (final String pattern : excludePatterns) {
+            if (pattern.endsWith(ANY_SUFFIX)
+                && SelectorUtils.matchPath(pattern.substring(0, pattern.length() - ANY_SUFFIX.length()), directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAny(final List<String> patterns, final String name) {
+        for (final String pattern : patterns) {
+            if (SelectorUtils.matchPath(pattern, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param withDefaultExcludes
+     *            whether to append plexus default excludes
+     */
+    private static List<String> compile(final List<String> patterns,
+                                        final String defaultPattern,
+                                        final boolean withDefaultExcludes) {
+        final List<String> result = new ArrayList<>();
+        for (final String pattern : StringUtils.split(buildPattern(patterns, defaultPattern), ",")) {
+            if (!pattern.trim().isEmpty()) {
+                result.add(normalize(pattern));
+            }
+        }
+        if (withDefaultExcludes) {
+            for (final String pattern : FileUtils.getDefaultExcludes()) {
+                result.add(normalize(pattern));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies the same pattern normalization as plexus directory scanner.
+     */
+    private static String normalize(final String pattern) {
+        String result = pattern.trim().replace('/', File.separatorChar).replace('\\', File.separatorChar);
+        if (result.endsWith(File.separator)) {
+            result += "**";
+        }
+        return result;
+    }
+
     private static String buildPattern(final List<String> patterns,
                                        final String defaultPattern) {
         String pattern = defaultPattern;
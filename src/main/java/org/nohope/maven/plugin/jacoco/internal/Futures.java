@@ -0,0 +1,51 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers for waiting on background tasks which may fail with
+ * {@link IOException}.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Waits for task result rethrowing its failure as is.
+     *
+     * @param future
+     *            task to wait for
+     * @param <T>
+     *            result type
+     * @return task result
+     * @throws IOException
+     *             if task failed with I/O error or waiting was interrupted
+     */
+    public static <T> T await(final Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for background task");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
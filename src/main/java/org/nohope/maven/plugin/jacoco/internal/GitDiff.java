@@ -0,0 +1,248 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lines changed in the working tree of a local git repository since it
+ * forked from a base revision, including uncommitted changes. The working
+ * tree is compared with the merge base of the base revision and
+ * {@code HEAD}, so commits made on the base branch meanwhile do not count.
+ * Only the new side of the diff is kept: added and modified lines of files
+ * which still exist. Untracked files are changed as a whole.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class GitDiff {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@.*");
+    private static final String FILE_HEADER = "diff --git ";
+    private static final String NEW_FILE = "+++ ";
+    private static final Map<Character, Character> ESCAPES = new HashMap<>();
+
+    static {
+        ESCAPES.put('a', (char) 7);
+        ESCAPES.put('b', '\b');
+        ESCAPES.put('t', '\t');
+        ESCAPES.put('n', '\n');
+        ESCAPES.put('v', (char) 11);
+        ESCAPES.put('f', '\f');
+        ESCAPES.put('r', '\r');
+    }
+
+    private final String base;
+    private final File root;
+    private final Map<File, SortedSet<Integer>> changes;
+    private final Set<File> untracked;
+
+    private GitDiff(final String base,
+                    final File root,
+                    final Map<File, SortedSet<Integer>> changes,
+                    final Set<File> untracked) {
+        this.base = base;
+        this.root = root;
+        this.changes = changes;
+        this.untracked = untracked;
+    }
+
+    /**
+     * Runs {@code git} in given directory.
+     *
+     * @param directory
+     *            any directory inside the repository
+     * @param base
+     *            revision whose merge base with {@code HEAD} the working
+     *            tree is compared with
+     * @return changed lines
+     * @throws IOException
+     *             if git fails or is not available
+     */
+    public static GitDiff resolve(final File directory, final String base) throws IOException {
+        final File root = new File(git(directory, "rev-parse", "--show-toplevel").trim()).getCanonicalFile();
+        final String mergeBase = git(root, "merge-base", base, "HEAD").trim();
+
+        final Map<File, SortedSet<Integer>> changes = new HashMap<>();
+        // explicit prefixes override diff.noprefix and diff.mnemonicPrefix
+        final String diff = git(root, "-c", "core.quotePath=false", "diff", "--no-color", "--no-ext-diff",
+                "--no-renames", "--src-prefix=a/", "--dst-prefix=b/", "-U0", mergeBase, "--");
+        for (final Map.Entry<String, SortedSet<Integer>> entry : parse(diff).entrySet()) {
+            changes.put(new File(root, entry.getKey()).getCanonicalFile(), entry.getValue());
+        }
+
+        final Set<File> untracked = new HashSet<>();
+        for (final String path : git(root, "ls-files", "-z", "--others", "--exclude-standard").split("\u0000")) {
+            if (!path.isEmpty()) {
+                untracked.add(new File(root, path).getCanonicalFile());
+            }
+        }
+
+        return new GitDiff(base, root, changes, untracked);
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    /**
+     * Parses output of {@code git diff -U0} run with {@code a/} and
+     * {@code b/} prefixes.
+     *
+     * @param diff
+     *            unified diff
+     * @return new side paths, relative to repository root, mapped to
+     *         added or modified line numbers; deleted files are left out
+     */
+    static Map<String, SortedSet<Integer>> parse(final String diff) {
+        final Map<String, SortedSet<Integer>> changes = new HashMap<>();
+        SortedSet<Integer> lines = null;
+        // file names are only taken from headers, an added line may look
+        // like one as well
+        boolean header = false;
+        for (final String line : diff.split("\n")) {
+            if (line.startsWith(FILE_HEADER)) {
+                header = true;
+                lines = null;
+                continue;
+            }
+            if (header && line.startsWith(NEW_FILE)) {
+                final String path = unquote(line.substring(NEW_FILE.length()));
+                lines = null;
+                if (path.startsWith("b/")) {
+                    lines = new TreeSet<>();
+                    changes.put(path.substring(2), lines);
+                }
+                continue;
+            }
+
+            final Matcher hunk = HUNK.matcher(line);
+            if (hunk.matches()) {
+                header = false;
+                if (lines != null) {
+                    final int start = Integer.parseInt(hunk.group(1));
+                    final int count = hunk.group(2) == null ? 1 : Integer.parseInt(hunk.group(2));
+                    for (int i = 0; i < count; i++) {
+                        lines.add(start + i);
+                    }
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Decodes a file name of a diff header. Git appends a tab to names
+     * containing spaces and quotes names with special characters C-style,
+     * with octal escapes of UTF-8 bytes.
+     */
+    static String unquote(final String header) {
+        final String name = header.endsWith("\t") ? header.substring(0, header.length() - 1) : header;
+        if (name.length() < 2 || !name.startsWith("\"") || !name.endsWith("\"")) {
+            return name;
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 1; i < name.length() - 1; i++) {
+            final char c = name.charAt(i);
+            if (c != '\\') {
+                final byte[] encoded = String.valueOf(c).getBytes(UTF_8);
+                bytes.write(encoded, 0, encoded.length);
+                continue;
+            }
+
+            final char escaped = name.charAt(++i);
+            if (escaped >= '0' && escaped <= '7') {
+                bytes.write(Integer.parseInt(name.substring(i, i + 3), 8));
+                i += 2;
+            } else {
+                bytes.write(ESCAPES.containsKey(escaped) ? ESCAPES.get(escaped) : escaped);
+            }
+        }
+        return new String(bytes.toByteArray(), UTF_8);
+    }
+
+    /**
+     * @return changed files which still exist, as canonical paths
+     */
+    public Set<File> getFiles() {
+        final Set<File> files = new HashSet<>(untracked);
+        for (final Map.Entry<File, SortedSet<Integer>> entry : changes.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                files.add(entry.getKey());
+            }
+        }
+        return Collections.unmodifiableSet(files);
+    }
+
+    /**
+     * @param file
+     *            canonical file
+     * @param line
+     *            line number, starting from 1
+     * @return {@code true} if line was added or modified
+     */
+    public boolean isChanged(final File file, final int line) {
+        if (untracked.contains(file)) {
+            return true;
+        }
+        final SortedSet<Integer> lines = changes.get(file);
+        return lines != null && lines.contains(line);
+    }
+
+    /**
+     * @return {@code /}-separated path of the file relative to repository
+     *         root
+     */
+    public String getPath(final File file) {
+        return root.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+    }
+
+    private static String git(final File directory, final String... args) throws IOException {
+        final List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+
+        final Process process = new ProcessBuilder(command)
+                .directory(directory)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (final InputStream in = process.getInputStream()) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+        }
+
+        final int exit;
+        try {
+            exit = process.waitFor();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroy();
+            throw new InterruptedIOException("Interrupted while running git");
+        }
+        if (exit != 0) {
+            throw new IOException("Command " + command + " failed with exit code " + exit);
+        }
+        return new String(output.toByteArray(), UTF_8);
+    }
+}
@@ -0,0 +1,144 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.report.IMultiReportOutput;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Directory report output which leaves unchanged pages on disk.
+ * <p>
+ * Every page is rendered into memory and fingerprinted. Fingerprints of
+ * the previous run are kept in a manifest next to the report, pages with
+ * the same fingerprint are not written again. Pages which are listed in
+ * the old manifest but were not produced by current run are removed.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class IncrementalMultiReportOutput implements IMultiReportOutput {
+
+    private static final String MANIFEST = ".jacoco-html.manifest";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char SEPARATOR = '\t';
+
+    private final File directory;
+    private final Map<String, String> previous;
+    private final Map<String, String> current = new TreeMap<>();
+
+    /**
+     * @param directory
+     *            report root directory
+     * @throws IOException
+     *             if existing manifest can't be read
+     */
+    public IncrementalMultiReportOutput(final File directory) throws IOException {
+        this.directory = directory;
+        this.previous = readManifest(new File(directory, MANIFEST));
+    }
+
+    @Override
+    public OutputStream createFile(final String path) throws IOException {
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    store(path, buf, count);
+                }
+            }
+        };
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (final String path : previous.keySet()) {
+            if (!current.containsKey(path)) {
+                Files.deleteIfExists(new File(directory, path).toPath());
+            }
+        }
+        writeManifest(new File(directory, MANIFEST), current);
+    }
+
+    private synchronized void store(final String path,
+                                    final byte[] content,
+                                    final int length) throws IOException {
+        final MessageDigest digest = Digests.sha1();
+        digest.update(content, 0, length);
+        final String fingerprint = Digests.toHex(digest.digest());
+        current.put(path, fingerprint);
+
+        final File file = new File(directory, path);
+        if (fingerprint.equals(previous.get(path)) && file.isFile()) {
+            return;
+        }
+
+        final File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs() && !parent.isDirectory()) {
+            throw new IOException("Unable to create directory " + parent);
+        }
+        try (final OutputStream out = new FileOutputStream(file)) {
+            out.write(content, 0, length);
+        }
+    }
+
+    private static Map<String, String> readManifest(final File file) throws IOException {
+        final Map<String, String> result = new TreeMap<>();
+        if (!file.isFile()) {
+            return result;
+        }
+
+        try (final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.lastIndexOf(SEPARATOR);
+                if (separator > 0) {
+                    result.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void writeManifest(final File file,
+                                      final Map<String, String> fingerprints) throws IOException {
+        final File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs() && !parent.isDirectory()) {
+            throw new IOException("Unable to create directory " + parent);
+        }
+
+        final File temp = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            try (final Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(temp), UTF_8))) {
+                for (final Map.Entry<String, String> entry : fingerprints.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write(SEPARATOR);
+                    writer.write(entry.getValue());
+                    writer.write('\n');
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+}
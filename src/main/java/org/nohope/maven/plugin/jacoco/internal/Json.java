@@ -0,0 +1,75 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+/**
+ * Minimal helpers for writing JSON by hand.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Appends {@code "name":value} to an object, preceded by a comma unless
+     * it is the first member.
+     */
+    static void field(final StringBuilder line, final String name, final String value) {
+        if (line.length() > 0 && line.charAt(line.length() - 1) != '{') {
+            line.append(',');
+        }
+        line.append('"').append(name).append("\":");
+        string(line, value);
+    }
+
+    /**
+     * Appends {@code "name":value} to an object, preceded by a comma unless
+     * it is the first member.
+     */
+    static void field(final StringBuilder line, final String name, final long value) {
+        if (line.length() > 0 && line.charAt(line.length() - 1) != '{') {
+            line.append(',');
+        }
+        line.append('"').append(name).append("\":").append(value);
+    }
+
+    /**
+     * Appends quoted and escaped value or {@code null}.
+     */
+    static void string(final StringBuilder line, final String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+}
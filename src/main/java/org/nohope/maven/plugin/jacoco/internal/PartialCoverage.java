@@ -0,0 +1,191 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.JaCoCo;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.data.ExecutionDataReader;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.core.data.SessionInfoStore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Analyzed coverage of a single module together with execution data of its
+ * classes, so that modules covered on different machines can be
+ * aggregated without class files.
+ * <p>
+ * The artifact is a gzipped stream holding the project id, the bundle name,
+ * every class coverage with method counters and line data, and an embedded
+ * execution data file with sessions and probes of the bundle classes only.
+ * Artifacts are bound to the JaCoCo version which wrote them.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class PartialCoverage {
+
+    /** File name suffix of partial coverage artifacts. */
+    public static final String SUFFIX = ".partial";
+
+    private static final int MAGIC = 0x4a435043;
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String projectId;
+    private final IBundleCoverage bundle;
+    private final SessionInfoStore sessionInfos;
+    private final ExecutionDataStore executionData;
+
+    /**
+     * @param projectId
+     *            id of the module the bundle belongs to
+     * @param bundle
+     *            analyzed module classes
+     * @param sessionInfos
+     *            sessions the bundle was analyzed with
+     * @param executionData
+     *            execution data the bundle was analyzed with, classes out
+     *            of the bundle are not written
+     */
+    public PartialCoverage(final String projectId,
+                           final IBundleCoverage bundle,
+                           final SessionInfoStore sessionInfos,
+                           final ExecutionDataStore executionData) {
+        this.projectId = projectId;
+        this.bundle = bundle;
+        this.sessionInfos = sessionInfos;
+        this.executionData = executionData;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public IBundleCoverage getBundle() {
+        return bundle;
+    }
+
+    public SessionInfoStore getSessionInfos() {
+        return sessionInfos;
+    }
+
+    public ExecutionDataStore getExecutionData() {
+        return executionData;
+    }
+
+    /**
+     * Writes the artifact, replacing given file atomically.
+     *
+     * @param file
+     *            target file
+     * @throws IOException
+     *             if file can't be written
+     */
+    public void write(final File file) throws IOException {
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs() && !parent.isDirectory()) {
+            throw new IOException("Unable to create " + parent);
+        }
+
+        final ExecutionDataStore pruned = new ExecutionDataStore();
+        final ByteArrayOutputStream classes = new ByteArrayOutputStream(BUFFER_SIZE);
+        int classCount = 0;
+        try (final DataOutputStream out = new DataOutputStream(classes)) {
+            for (final IPackageCoverage pkg : bundle.getPackages()) {
+                for (final IClassCoverage coverage : pkg.getClasses()) {
+                    out.writeLong(coverage.getId());
+                    ClassCoverageCodec.write(out, coverage);
+                    classCount++;
+                    if (executionData.get(coverage.getId()) != null) {
+                        pruned.put(executionData.get(coverage.getId()));
+                    }
+                }
+            }
+        }
+
+        final ByteArrayOutputStream exec = new ByteArrayOutputStream(BUFFER_SIZE);
+        final ExecutionDataWriter writer = new ExecutionDataWriter(exec);
+        sessionInfos.accept(writer);
+        pruned.accept(writer);
+
+        final File temp = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(new FileOutputStream(temp), BUFFER_SIZE), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(JaCoCo.VERSION);
+                out.writeUTF(projectId);
+                out.writeUTF(bundle.getName());
+                out.writeInt(classCount);
+                classes.writeTo(out);
+                out.writeInt(exec.size());
+                exec.writeTo(out);
+            }
+            Files.move(temp.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    /**
+     * Reads an artifact written by {@link #write(File)}.
+     *
+     * @param file
+     *            artifact file
+     * @return module coverage
+     * @throws IOException
+     *             if file can't be read, is not an artifact or was written
+     *             by another JaCoCo version
+     */
+    public static PartialCoverage read(final File file) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException(file + " is not a partial coverage file");
+            }
+            final String version = in.readUTF();
+            if (!JaCoCo.VERSION.equals(version)) {
+                throw new IOException(String.format("%s is written by JaCoCo %s, expected %s",
+                        file, version, JaCoCo.VERSION));
+            }
+
+            final String projectId = in.readUTF();
+            final String name = in.readUTF();
+            final CoverageBuilder builder = new CoverageBuilder();
+            final int classCount = in.readInt();
+            for (int i = 0; i < classCount; i++) {
+                builder.visitCoverage(ClassCoverageCodec.read(in, in.readLong()));
+            }
+
+            final byte[] exec = new byte[in.readInt()];
+            in.readFully(exec);
+            final SessionInfoStore sessionInfos = new SessionInfoStore();
+            final ExecutionDataStore executionData = new ExecutionDataStore();
+            final ExecutionDataReader reader = new ExecutionDataReader(new ByteArrayInputStream(exec));
+            reader.setSessionInfoVisitor(sessionInfos);
+            reader.setExecutionDataVisitor(executionData);
+            reader.read();
+
+            return new PartialCoverage(projectId, builder.getBundle(name), sessionInfos, executionData);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.report.IMultiReportOutput;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wall time, I/O volume, analyzed classes and heap usage of report pipeline
+ * stages, recorded per module and per report format.
+ * <p>
+ * Heap usage of a stage is sampled when it ends; the peak over the whole
+ * pass is taken from JVM memory pools, which are reset on creation.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class PipelineMetrics {
+
+    public static final String LOAD = "loadExecutionData";
+    public static final String ANALYZE = "createBundle";
+    public static final String VISIT_BUNDLE = "visitBundle";
+    public static final String VISIT_END = "visitEnd";
+    public static final String SAVE = "save";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final List<Record> records = new ArrayList<>();
+    private final ConcurrentMap<String, AtomicLong> written = new ConcurrentHashMap<>();
+    private final long started = System.nanoTime();
+
+    public PipelineMetrics() {
+        for (final MemoryPoolMXBean pool : heapPools()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    /**
+     * Starts timing of a stage.
+     *
+     * @param stage
+     *            stage name
+     * @param module
+     *            module the stage works on or {@code null}
+     * @param format
+     *            report format the stage works on or {@code null}
+     * @return timer to stop when the stage is finished
+     */
+    public Timer start(final String stage, final String module, final String format) {
+        return new Timer(stage, module, format);
+    }
+
+    /**
+     * @return stream counting bytes produced for given format
+     */
+    public OutputStream count(final String format, final OutputStream output) {
+        final AtomicLong counter = counter(format);
+        return new FilterOutputStream(output) {
+            @Override
+            public void write(final int b) throws IOException {
+                out.write(b);
+                counter.incrementAndGet();
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                out.write(bytes, offset, length);
+                counter.addAndGet(length);
+            }
+        };
+    }
+
+    /**
+     * @return report output counting bytes produced for given format
+     */
+    public IMultiReportOutput count(final String format, final IMultiReportOutput output) {
+        return new IMultiReportOutput() {
+            @Override
+            public OutputStream createFile(final String path) throws IOException {
+                return count(format, output.createFile(path));
+            }
+
+            @Override
+            public void close() throws IOException {
+                output.close();
+            }
+        };
+    }
+
+    /**
+     * Wraps a format visitor to record {@link #VISIT_BUNDLE} and
+     * {@link #VISIT_END} stages. Bytes are taken from streams passed
+     * through {@code count} with the same format.
+     */
+    public IReportVisitor wrap(final String format, final IReportVisitor visitor) {
+        return new MeteredVisitor(format, visitor);
+    }
+
+    /**
+     * Writes recorded stages as JSON.
+     *
+     * @param file
+     *            target file
+     * @throws IOException
+     *             if file can't be written
+     */
+    public void write(final File file) throws IOException {
+        final StringBuilder json = new StringBuilder("{");
+        Json.field(json, "wallMillis", millis(System.nanoTime() - started));
+        Json.field(json, "peakHeap", peakHeap());
+        json.append(",\"stages\":[");
+        final List<Record> snapshot = snapshot();
+        for (int i = 0; i < snapshot.size(); i++) {
+            final Record record = snapshot.get(i);
+            json.append(i == 0 ? "\n  {" : ",\n  {");
+            Json.field(json, "stage", record.stage);
+            Json.field(json, "module", record.module);
+            Json.field(json, "format", record.format);
+            Json.field(json, "millis", millis(record.nanos));
+            Json.field(json, "bytesRead", record.bytesRead);
+            Json.field(json, "bytesWritten", record.bytesWritten);
+            Json.field(json, "classes", record.classes);
+            Json.field(json, "heapUsed", record.heapUsed);
+            json.append('}');
+        }
+        json.append("\n]}\n");
+
+        try (final OutputStream out = new FileOutputStream(file)) {
+            out.write(json.toString().getBytes(UTF_8));
+        }
+    }
+
+    /**
+     * @return lines of a table summing recorded stages by name and format
+     */
+    public List<String> summary() {
+        final Map<String, long[]> totals = new TreeMap<>();
+        for (final Record record : snapshot()) {
+            final String key = record.format == null ? record.stage : record.stage + '[' + record.format + ']';
+            long[] total = totals.get(key);
+            if (total == null) {
+                total = new long[6];
+                totals.put(key, total);
+            }
+            total[0]++;
+            total[1] += record.nanos;
+            total[2] += record.bytesRead;
+            total[3] += record.bytesWritten;
+            total[4] += record.classes;
+            total[5] = Math.max(total[5], record.heapUsed);
+        }
+
+        final String format = "%-24s %6s %10s %10s %10s %8s %9s";
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ENGLISH, format,
+                "Stage", "Count", "Time, ms", "Read, KB", "Wrote, KB", "Classes", "Heap, MB"));
+        for (final Map.Entry<String, long[]> entry : totals.entrySet()) {
+            final long[] total = entry.getValue();
+            lines.add(String.format(Locale.ENGLISH, format, entry.getKey(), total[0], millis(total[1]),
+                    total[2] / 1024, total[3] / 1024, total[4], total[5] / (1024 * 1024)));
+        }
+        lines.add(String.format(Locale.ENGLISH, "Total %d ms, peak heap %d MB",
+                millis(System.nanoTime() - started), peakHeap() / (1024 * 1024)));
+        return lines;
+    }
+
+    private List<Record> snapshot() {
+        synchronized (records) {
+            return new ArrayList<>(records);
+        }
+    }
+
+    private AtomicLong counter(final String format) {
+        final AtomicLong counter = new AtomicLong();
+        final AtomicLong existing = written.putIfAbsent(format, counter);
+        return existing == null ? counter : existing;
+    }
+
+    private static long millis(final long nanos) {
+        return nanos / 1000000L;
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (final MemoryPoolMXBean pool : heapPools()) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        final List<MemoryPoolMXBean> result = new ArrayList<>();
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                result.add(pool);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Running stage.
+     */
+    public final class Timer {
+        private final String stage;
+        private final String module;
+        private final String format;
+        private final long start = System.nanoTime();
+
+        private Timer(final String stage, final String module, final String format) {
+            this.stage = stage;
+            this.module = module;
+            this.format = format;
+        }
+
+        /**
+         * Records the stage.
+         *
+         * @param bytesRead
+         *            bytes read by the stage
+         * @param bytesWritten
+         *            bytes written by the stage
+         * @param classes
+         *            classes processed by the stage
+         */
+        public void stop(final long bytesRead, final long bytesWritten, final long classes) {
+            final Record record = new Record(stage, module, format, System.nanoTime() - start,
+                    bytesRead, bytesWritten, classes, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+            synchronized (records) {
+                records.add(record);
+            }
+        }
+    }
+
+    private static final class Record {
+        private final String stage;
+        private final String module;
+        private final String format;
+        private final long nanos;
+        private final long bytesRead;
+        private final long bytesWritten;
+        private final long classes;
+        private final long heapUsed;
+
+        private Record(final String stage, final String module, final String format, final long nanos,
+                       final long bytesRead, final long bytesWritten, final long classes, final long heapUsed) {
+            this.stage = stage;
+            this.module = module;
+            this.format = format;
+            this.nanos = nanos;
+            this.bytesRead = bytesRead;
+            this.bytesWritten = bytesWritten;
+            this.classes = classes;
+            this.heapUsed = heapUsed;
+        }
+    }
+
+    /**
+     * Records calls of a single format. Calls of one format never overlap,
+     * so byte counter deltas belong to the timed call.
+     */
+    private final class MeteredVisitor implements IReportVisitor {
+        private final String format;
+        private final IReportVisitor visitor;
+        private final AtomicLong bytes;
+
+        private MeteredVisitor(final String format, final IReportVisitor visitor) {
+            this.format = format;
+            this.visitor = visitor;
+            this.bytes = counter(format);
+        }
+
+        @Override
+        public void visitInfo(final List<SessionInfo> sessionInfos,
+                              final Collection<ExecutionData> executionData) throws IOException {
+            visitor.visitInfo(sessionInfos, executionData);
+        }
+
+        @Override
+        public void visitBundle(final IBundleCoverage bundle,
+                                final ISourceFileLocator locator) throws IOException {
+            visitBundle(visitor, bundle, locator);
+        }
+
+        @Override
+        public IReportGroupVisitor visitGroup(final String name) throws IOException {
+            return new Group(visitor.visitGroup(name));
+        }
+
+        @Override
+        public void visitEnd() throws IOException {
+            final long before = bytes.get();
+            final Timer timer = start(VISIT_END, null, format);
+            visitor.visitEnd();
+            timer.stop(0, bytes.get() - before, 0);
+        }
+
+        private void visitBundle(final IReportGroupVisitor target,
+                                 final IBundleCoverage bundle,
+                                 final ISourceFileLocator locator) throws IOException {
+            final long before = bytes.get();
+            final Timer timer = start(VISIT_BUNDLE, bundle.getName(), format);
+            target.visitBundle(bundle, locator);
+            timer.stop(0, bytes.get() - before, bundle.getClassCounter().getTotalCount());
+        }
+
+        private final class Group implements IReportGroupVisitor {
+            private final IReportGroupVisitor group;
+
+            private Group(final IReportGroupVisitor group) {
+                this.group = group;
+            }
+
+            @Override
+            public void visitBundle(final IBundleCoverage bundle,
+                                    final ISourceFileLocator locator) throws IOException {
+                MeteredVisitor.this.visitBundle(group, bundle, locator);
+            }
+
+            @Override
+            public IReportGroupVisitor visitGroup(final String name) throws IOException {
+                return new Group(group.visitGroup(name));
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.apache.maven.project.MavenProject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Module and root reports to render across the reactor, computed before
+ * anything is rendered.
+ * <p>
+ * Every report is owned by the reactor project whose goal execution
+ * renders it. Reports are handed out to their owner once, so repeated
+ * {@code canGenerateReport}/{@code generate} calls of the same execution
+ * never render a report twice.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class ReportPlan {
+
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * Adds a report, steps of one owner are rendered in the order they
+     * were added.
+     *
+     * @param owner
+     *            project whose execution renders the report
+     * @param project
+     *            module to report or root project of the reactor
+     * @param root
+     *            {@code true} for aggregated report of the reactor
+     */
+    public void add(final MavenProject owner, final MavenProject project, final boolean root) {
+        steps.add(new Step(owner, project, root));
+    }
+
+    /**
+     * @return {@code true} if owner has reports left to render
+     */
+    public boolean hasPending(final MavenProject owner) {
+        for (final Step step : steps) {
+            if (!step.done && step.owner.equals(owner)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if root report is left to render by any owner
+     */
+    public boolean hasPendingRoot() {
+        for (final Step step : steps) {
+            if (!step.done && step.root) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hands out reports left to render by owner and marks them as done.
+     *
+     * @return steps to render, possibly empty
+     */
+    public List<Step> take(final MavenProject owner) {
+        final List<Step> result = new ArrayList<>();
+        for (final Step step : steps) {
+            if (!step.done && step.owner.equals(owner)) {
+                step.done = true;
+                result.add(step);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * @return one line per report with its owner and state
+     */
+    public List<String> describe() {
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format("Report plan: %d reports", steps.size()));
+        for (final Step step : steps) {
+            lines.add(String.format("  %s by %s%s", step, step.owner.getId(), step.done ? " (done)" : ""));
+        }
+        return lines;
+    }
+
+    /**
+     * Single report.
+     */
+    public static final class Step {
+        private final MavenProject owner;
+        private final MavenProject project;
+        private final boolean root;
+        private boolean done;
+
+        private Step(final MavenProject owner, final MavenProject project, final boolean root) {
+            this.owner = owner;
+            this.project = project;
+            this.root = root;
+        }
+
+        public MavenProject getProject() {
+            return project;
+        }
+
+        public boolean isRoot() {
+            return root;
+        }
+
+        @Override
+        public String toString() {
+            return (root ? "root report of " : "module report of ") + project.getId();
+        }
+    }
+}
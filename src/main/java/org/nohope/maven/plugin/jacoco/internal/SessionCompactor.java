@@ -0,0 +1,146 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.data.ISessionInfoVisitor;
+import org.jacoco.core.data.SessionInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps a bounded number of the most recent sessions and collapses older
+ * ones into summary sessions while they are read.
+ * <p>
+ * Collapsed sessions are grouped by id prefix, the first group of given
+ * pattern or the whole id if it doesn't match, and optionally by time
+ * window of their start. A summary session is named after the group with
+ * the number of sessions in it, starts with the earliest and is dumped
+ * with the latest of them, e.g. {@code host1 [1500 sessions]}. Memory
+ * use depends on the number of kept sessions and groups only.
+ * <p>
+ * Sessions may be visited from several threads.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class SessionCompactor implements ISessionInfoVisitor {
+
+    private static final Comparator<SessionInfo> BY_DUMP = new Comparator<SessionInfo>() {
+        @Override
+        public int compare(final SessionInfo a, final SessionInfo b) {
+            return a.compareTo(b);
+        }
+    };
+
+    private final int keep;
+    private final Pattern groupPattern;
+    private final long window;
+
+    private final PriorityQueue<SessionInfo> recent;
+    private final Map<String, Summary> summaries = new LinkedHashMap<>();
+    private int visited;
+    private int collapsed;
+
+    /**
+     * @param keep
+     *            number of most recent sessions kept as they are
+     * @param groupPattern
+     *            pattern whose first group is the id prefix to collapse
+     *            sessions by
+     * @param window
+     *            length in milliseconds of time windows collapsed sessions
+     *            are split by, {@code 0} for none
+     */
+    public SessionCompactor(final int keep, final Pattern groupPattern, final long window) {
+        this.keep = Math.max(0, keep);
+        this.groupPattern = groupPattern;
+        this.window = window;
+        this.recent = new PriorityQueue<>(Math.max(1, this.keep + 1), BY_DUMP);
+    }
+
+    @Override
+    public synchronized void visitSessionInfo(final SessionInfo info) {
+        visited++;
+        recent.add(info);
+        if (recent.size() > keep) {
+            collapse(recent.poll());
+        }
+    }
+
+    /**
+     * Passes summary sessions followed by kept sessions to visitor.
+     *
+     * @param visitor
+     *            target visitor, e.g. session store of a loader
+     */
+    public synchronized void accept(final ISessionInfoVisitor visitor) {
+        for (final Summary summary : summaries.values()) {
+            visitor.visitSessionInfo(new SessionInfo(
+                    String.format("%s [%d sessions]", summary.prefix, summary.count),
+                    summary.start, summary.dump));
+        }
+
+        final List<SessionInfo> kept = new ArrayList<>(recent);
+        Collections.sort(kept, BY_DUMP);
+        for (final SessionInfo info : kept) {
+            visitor.visitSessionInfo(info);
+        }
+    }
+
+    /** @return number of sessions visited */
+    public synchronized int getVisited() {
+        return visited;
+    }
+
+    /** @return number of sessions collapsed into summaries */
+    public synchronized int getCollapsed() {
+        return collapsed;
+    }
+
+    /** @return number of summary sessions */
+    public synchronized int getSummaries() {
+        return summaries.size();
+    }
+
+    private void collapse(final SessionInfo info) {
+        collapsed++;
+        final String id = info.getId();
+        final Matcher matcher = groupPattern.matcher(id);
+        final String prefix = matcher.matches() && matcher.groupCount() > 0 && matcher.group(1) != null
+                ? matcher.group(1)
+                : id;
+        final String key = window > 0 ? prefix + '@' + info.getStartTimeStamp() / window : prefix;
+
+        final Summary summary = summaries.get(key);
+        if (summary == null) {
+            summaries.put(key, new Summary(prefix, info));
+        } else {
+            summary.add(info);
+        }
+    }
+
+    private static final class Summary {
+        private final String prefix;
+        private int count = 1;
+        private long start;
+        private long dump;
+
+        private Summary(final String prefix, final SessionInfo info) {
+            this.prefix = prefix;
+            this.start = info.getStartTimeStamp();
+            this.dump = info.getDumpTimeStamp();
+        }
+
+        private void add(final SessionInfo info) {
+            count++;
+            start = Math.min(start, info.getStartTimeStamp());
+            dump = Math.max(dump, info.getDumpTimeStamp());
+        }
+    }
+}
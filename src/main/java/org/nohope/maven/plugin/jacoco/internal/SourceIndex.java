@@ -0,0 +1,94 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of files under source roots.
+ * <p>
+ * Each root is walked once on first lookup, subsequent lookups do not
+ * touch the file system. Single index may be shared by all modules of
+ * aggregated report.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class SourceIndex {
+
+    private final Map<File, Map<String, File>> roots = new ConcurrentHashMap<>();
+
+    /**
+     * Finds source file in the first root containing it.
+     *
+     * @param sourceRoots
+     *            roots to look in, in order of preference
+     * @param path
+     *            {@code /}-separated path relative to source root
+     * @return file or {@code null} if none of the roots contains it
+     * @throws IOException
+     *             if root can't be walked
+     */
+    public File find(final List<File> sourceRoots, final String path) throws IOException {
+        for (final File sourceRoot : sourceRoots) {
+            final File file = getRoot(sourceRoot).get(path);
+            if (file != null) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, File> getRoot(final File sourceRoot) throws IOException {
+        Map<String, File> files = roots.get(sourceRoot);
+        if (files == null) {
+            files = walk(sourceRoot);
+            roots.put(sourceRoot, files);
+        }
+        return files;
+    }
+
+    private static Map<String, File> walk(final File sourceRoot) throws IOException {
+        if (!sourceRoot.isDirectory()) {
+            return Collections.emptyMap();
+        }
+
+        final Path base = sourceRoot.toPath();
+        final Map<String, File> files = new HashMap<>();
+        // symbolic links are followed, as source roots and package
+        // directories are often linked in
+        Files.walkFileTree(base, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                        if (attrs.isRegularFile()) {
+                            final String relative = base.relativize(file).toString();
+                            files.put(relative.replace(File.separatorChar, '/'), file.toFile());
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(final Path file, final IOException e) throws IOException {
+                        if (e instanceof FileSystemLoopException) {
+                            // linked back to an ancestor, already indexed
+                            return FileVisitResult.CONTINUE;
+                        }
+                        throw e;
+                    }
+                });
+        return files;
+    }
+}
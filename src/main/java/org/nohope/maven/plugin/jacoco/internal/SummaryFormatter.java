@@ -0,0 +1,202 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Counters-only report in newline-delimited JSON.
+ * <p>
+ * The first line is an index of all bundles with byte offsets of their
+ * records relative to the end of the index line, so readers can seek
+ * directly to a single module. Offsets refer to the stream as written
+ * here, so the report has to be stored uncompressed to be seekable. The
+ * index is followed by one line per bundle, package and class, each
+ * holding counters only:
+ * <pre>
+ * {"type":"index","bundles":[{"offset":0,"length":1234,"group":"root","name":"core"}]}
+ * {"type":"bundle","group":"root","name":"core","counters":{"INSTRUCTION":[10,90],...}}
+ * {"type":"package","bundle":"core","name":"org/example","counters":{...}}
+ * {"type":"class","bundle":"core","package":"org/example","name":"org/example/Foo","source":"Foo.java","counters":{...}}
+ * </pre>
+ * Records are spilled to a temporary file while bundles are visited, so
+ * memory use does not grow with the number of classes, and are copied
+ * behind the index on {@link IReportVisitor#visitEnd()}, which closes the
+ * output and deletes the temporary file.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class SummaryFormatter {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Creates visitor writing summary to given stream.
+     *
+     * @param output
+     *            target stream
+     * @return report visitor
+     */
+    public IReportVisitor createVisitor(final OutputStream output) {
+        return new Visitor(output);
+    }
+
+    private static final class Visitor implements IReportVisitor {
+        private final OutputStream output;
+        private final List<String> index = new ArrayList<>();
+        private File spill;
+        private OutputStream records;
+        private long size;
+
+        private Visitor(final OutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void visitInfo(final List<SessionInfo> sessionInfos,
+                              final Collection<ExecutionData> executionData) {
+            // counters only
+        }
+
+        @Override
+        public void visitBundle(final IBundleCoverage bundle,
+                                final ISourceFileLocator locator) throws IOException {
+            writeBundle(null, bundle);
+        }
+
+        @Override
+        public IReportGroupVisitor visitGroup(final String name) {
+            return new Group(this, name);
+        }
+
+        @Override
+        public void visitEnd() throws IOException {
+            final StringBuilder header = new StringBuilder("{\"type\":\"index\",\"bundles\":[");
+            for (int i = 0; i < index.size(); i++) {
+                if (i > 0) {
+                    header.append(',');
+                }
+                header.append(index.get(i));
+            }
+            header.append("]}\n");
+
+            try (final OutputStream target = output) {
+                target.write(header.toString().getBytes(UTF_8));
+                if (records != null) {
+                    records.close();
+                    Files.copy(spill.toPath(), target);
+                }
+            } finally {
+                if (spill != null) {
+                    Files.deleteIfExists(spill.toPath());
+                }
+            }
+        }
+
+        private void writeBundle(final String group, final IBundleCoverage bundle) throws IOException {
+            final long offset = size;
+
+            final StringBuilder line = new StringBuilder("{\"type\":\"bundle\"");
+            Json.field(line, "group", group);
+            Json.field(line, "name", bundle.getName());
+            counters(line, bundle);
+            write(line);
+
+            for (final IPackageCoverage pkg : bundle.getPackages()) {
+                line.setLength(0);
+                line.append("{\"type\":\"package\"");
+                Json.field(line, "bundle", bundle.getName());
+                Json.field(line, "name", pkg.getName());
+                counters(line, pkg);
+                write(line);
+
+                for (final IClassCoverage coverage : pkg.getClasses()) {
+                    line.setLength(0);
+                    line.append("{\"type\":\"class\"");
+                    Json.field(line, "bundle", bundle.getName());
+                    Json.field(line, "package", pkg.getName());
+                    Json.field(line, "name", coverage.getName());
+                    Json.field(line, "source", coverage.getSourceFileName());
+                    counters(line, coverage);
+                    write(line);
+                }
+            }
+
+            final StringBuilder entry = new StringBuilder("{");
+            entry.append("\"offset\":").append(offset);
+            entry.append(",\"length\":").append(size - offset);
+            Json.field(entry, "group", group);
+            Json.field(entry, "name", bundle.getName());
+            entry.append('}');
+            index.add(entry.toString());
+        }
+
+        private void write(final StringBuilder line) throws IOException {
+            if (records == null) {
+                spill = File.createTempFile("jacoco-summary", ".ndjson");
+                records = new BufferedOutputStream(new FileOutputStream(spill), BUFFER_SIZE);
+            }
+            line.append("}\n");
+            final byte[] bytes = line.toString().getBytes(UTF_8);
+            records.write(bytes);
+            size += bytes.length;
+        }
+    }
+
+    private static final class Group implements IReportGroupVisitor {
+        private final Visitor visitor;
+        private final String path;
+
+        private Group(final Visitor visitor, final String path) {
+            this.visitor = visitor;
+            this.path = path;
+        }
+
+        @Override
+        public void visitBundle(final IBundleCoverage bundle,
+                                final ISourceFileLocator locator) throws IOException {
+            visitor.writeBundle(path, bundle);
+        }
+
+        @Override
+        public IReportGroupVisitor visitGroup(final String name) {
+            return new Group(visitor, path + '/' + name);
+        }
+    }
+
+    private static void counters(final StringBuilder line, final ICoverageNode node) {
+        line.append(",\"counters\":{");
+        boolean first = true;
+        for (final ICoverageNode.CounterEntity entity : ICoverageNode.CounterEntity.values()) {
+            final ICounter counter = node.getCounter(entity);
+            if (!first) {
+                line.append(',');
+            }
+            first = false;
+            line.append('"').append(entity.name()).append("\":[")
+                .append(counter.getMissedCount()).append(',')
+                .append(counter.getCoveredCount()).append(']');
+        }
+        line.append('}');
+    }
+}
@@ -0,0 +1,263 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.CoverageNodeImpl;
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.text.DateFormat;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Appends counters of visited bundles to a {@link CoverageHistory} and
+ * renders coverage trend of the latest runs, overall and per module, as an
+ * HTML page next to the HTML report, sharing its style sheet.
+ * <p>
+ * Both happen on {@link IReportVisitor#visitEnd()}.
+ *
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public final class TrendFormatter {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final ICoverageNode.CounterEntity[] COLUMNS = {
+            ICoverageNode.CounterEntity.INSTRUCTION,
+            ICoverageNode.CounterEntity.BRANCH,
+            ICoverageNode.CounterEntity.LINE
+    };
+    private static final int SPARKLINE_WIDTH = 120;
+    private static final int SPARKLINE_HEIGHT = 20;
+
+    private final CoverageHistory history;
+    private final File page;
+    private final int runs;
+    private final Locale locale;
+
+    /**
+     * @param history
+     *            store to append to and read from
+     * @param page
+     *            HTML file to write
+     * @param runs
+     *            number of latest runs to show, at least one
+     * @param locale
+     *            locale of numbers and dates
+     */
+    public TrendFormatter(final CoverageHistory history, final File page, final int runs, final Locale locale) {
+        this.history = history;
+        this.page = page;
+        this.runs = runs;
+        this.locale = locale;
+    }
+
+    /**
+     * @return visitor recording a run on visitEnd
+     */
+    public IReportVisitor createVisitor() {
+        return new Visitor();
+    }
+
+    private final class Visitor implements IReportVisitor, IReportGroupVisitor {
+        private final CoverageNodeImpl overall = new CoverageNodeImpl(ICoverageNode.ElementType.GROUP, "overall");
+        private final Map<String, CoverageNodeImpl> modules = new LinkedHashMap<>();
+
+        @Override
+        public void visitInfo(final List<SessionInfo> sessionInfos,
+                              final Collection<ExecutionData> executionData) {
+            // counters only
+        }
+
+        @Override
+        public IReportGroupVisitor visitGroup(final String name) {
+            // history is kept per module
+            return this;
+        }
+
+        @Override
+        public void visitBundle(final IBundleCoverage bundle, final ISourceFileLocator locator) {
+            CoverageNodeImpl module = modules.get(bundle.getName());
+            if (module == null) {
+                module = new CoverageNodeImpl(ICoverageNode.ElementType.BUNDLE, bundle.getName());
+                modules.put(bundle.getName(), module);
+            }
+            module.increment(bundle);
+            overall.increment(bundle);
+        }
+
+        @Override
+        public void visitEnd() throws IOException {
+            history.append(System.currentTimeMillis(), overall, modules);
+            final List<CoverageHistory.Run> latest = history.read(Math.max(1, runs));
+
+            final File parent = page.getAbsoluteFile().getParentFile();
+            if (!parent.exists() && !parent.mkdirs() && !parent.isDirectory()) {
+                throw new IOException("Unable to create " + parent);
+            }
+            try (final OutputStream out = new FileOutputStream(page)) {
+                out.write(render(latest).getBytes(UTF_8));
+            }
+        }
+    }
+
+    private String render(final List<CoverageHistory.Run> latest) {
+        final DateFormat dates = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT, locale);
+        final CoverageHistory.Run last = latest.get(latest.size() - 1);
+
+        final StringBuilder html = new StringBuilder();
+        html.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+            .append("<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Strict//EN\" ")
+            .append("\"http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd\">")
+            .append("<html xmlns=\"http://www.w3.org/1999/xhtml\" lang=\"").append(locale.getLanguage()).append("\">")
+            .append("<head><meta http-equiv=\"Content-Type\" content=\"text/html;charset=UTF-8\"/>")
+            .append("<link rel=\"stylesheet\" href=\".resources/report.css\" type=\"text/css\"/>")
+            .append("<title>Coverage trend</title></head><body>")
+            .append("<div class=\"breadcrumb\"><a href=\"index.html\" class=\"el_report\">Report</a>")
+            .append(" &gt; <span class=\"el_group\">Trend</span></div>")
+            .append("<h1>Coverage trend</h1>");
+        html.append("<p>").append(latest.size()).append(" latest runs, from ")
+            .append(escape(dates.format(new Date(latest.get(0).getTimestamp())))).append(" to ")
+            .append(escape(dates.format(new Date(last.getTimestamp())))).append(".</p>");
+
+        html.append("<table class=\"coverage\" cellspacing=\"0\"><thead><tr><td>Element</td><td>Trend</td>");
+        for (final ICoverageNode.CounterEntity entity : COLUMNS) {
+            html.append("<td>").append(title(entity)).append("</td><td>&#916;</td>");
+        }
+        html.append("</tr></thead><tbody>");
+        row(html, "Total", latest, null);
+        for (final String module : last.getModules()) {
+            row(html, module, latest, module);
+        }
+        html.append("</tbody></table>");
+
+        html.append("<h2>Runs</h2><table class=\"coverage\" cellspacing=\"0\"><thead><tr><td>Date</td>");
+        for (final ICoverageNode.CounterEntity entity : COLUMNS) {
+            html.append("<td>").append(title(entity)).append("</td>");
+        }
+        html.append("<td>Missed instructions</td><td>Modules</td></tr></thead><tbody>");
+        for (int i = latest.size() - 1; i >= 0; i--) {
+            final CoverageHistory.Run run = latest.get(i);
+            html.append("<tr><td>").append(escape(dates.format(new Date(run.getTimestamp())))).append("</td>");
+            for (final ICoverageNode.CounterEntity entity : COLUMNS) {
+                html.append("<td class=\"ctr2\">").append(percent(ratio(run.getOverall(entity)))).append("</td>");
+            }
+            final long[] instructions = run.getOverall(ICoverageNode.CounterEntity.INSTRUCTION);
+            html.append("<td class=\"ctr1\">").append(instructions == null ? "" : String.valueOf(instructions[0]))
+                .append("</td><td class=\"ctr2\">").append(run.getModules().size()).append("</td></tr>");
+        }
+        html.append("</tbody></table></body></html>");
+        return html.toString();
+    }
+
+    /**
+     * @param module
+     *            module name or {@code null} for overall counters
+     */
+    private void row(final StringBuilder html,
+                     final String label,
+                     final List<CoverageHistory.Run> latest,
+                     final String module) {
+        html.append("<tr><td>").append(escape(label)).append("</td><td>");
+        sparkline(html, latest, module);
+        html.append("</td>");
+
+        for (final ICoverageNode.CounterEntity entity : COLUMNS) {
+            final double current = ratio(counter(latest.get(latest.size() - 1), module, entity));
+            double previous = Double.NaN;
+            for (int i = latest.size() - 2; i >= 0 && Double.isNaN(previous); i--) {
+                previous = ratio(counter(latest.get(i), module, entity));
+            }
+            html.append("<td class=\"ctr2\">").append(percent(current)).append("</td><td class=\"ctr2\">");
+            if (!Double.isNaN(current) && !Double.isNaN(previous)) {
+                html.append(String.format(locale, "%+.1f", (current - previous) * 100));
+            }
+            html.append("</td>");
+        }
+        html.append("</tr>");
+    }
+
+    private void sparkline(final StringBuilder html,
+                           final List<CoverageHistory.Run> latest,
+                           final String module) {
+        final StringBuilder points = new StringBuilder();
+        final int steps = Math.max(1, latest.size() - 1);
+        for (int i = 0; i < latest.size(); i++) {
+            final double ratio = ratio(counter(latest.get(i), module, ICoverageNode.CounterEntity.INSTRUCTION));
+            if (Double.isNaN(ratio)) {
+                continue;
+            }
+            points.append(String.format(Locale.ENGLISH, "%s%.1f,%.1f", points.length() == 0 ? "" : " ",
+                    (double) i * SPARKLINE_WIDTH / steps, (1 - ratio) * SPARKLINE_HEIGHT));
+        }
+        html.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(SPARKLINE_WIDTH)
+            .append("\" height=\"").append(SPARKLINE_HEIGHT).append("\"><polyline fill=\"none\" stroke=\"#2d5fa2\" ")
+            .append("points=\"").append(points).append("\"/></svg>");
+    }
+
+    private static long[] counter(final CoverageHistory.Run run,
+                                  final String module,
+                                  final ICoverageNode.CounterEntity entity) {
+        return module == null ? run.getOverall(entity) : run.getModule(module, entity);
+    }
+
+    private static double ratio(final long[] counter) {
+        if (counter == null || counter[0] + counter[1] == 0) {
+            return Double.NaN;
+        }
+        return (double) counter[1] / (counter[0] + counter[1]);
+    }
+
+    private String percent(final double ratio) {
+        return Double.isNaN(ratio) ? "n/a" : String.format(locale, "%.1f%%", ratio * 100);
+    }
+
+    private static String title(final ICoverageNode.CounterEntity entity) {
+        switch (entity) {
+            case INSTRUCTION:
+                return "Instructions";
+            case BRANCH:
+                return "Branches";
+            default:
+                return "Lines";
+        }
+    }
+
+    private static String escape(final String text) {
+        final StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    result.append("&lt;");
+                    break;
+                case '>':
+                    result.append("&gt;");
+                    break;
+                case '&':
+                    result.append("&amp;");
+                    break;
+                case '"':
+                    result.append("&quot;");
+                    break;
+                default:
+                    result.append(c);
+                    break;
+            }
+        }
+        return result.toString();
+    }
+}
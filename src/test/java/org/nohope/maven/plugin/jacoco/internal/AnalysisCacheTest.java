@@ -0,0 +1,54 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.jacoco.core.JaCoCo;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public class AnalysisCacheTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void entryIsReusedForSameExecutionData() throws IOException {
+        final IClassCoverage coverage = ClassCoverageCodecTest.analyze(ClassCoverageCodecTest.Sample.class, false);
+        final AnalysisCache cache = new AnalysisCache(folder.getRoot(), new SystemStreamLog());
+        final ExecutionDataStore store = new ExecutionDataStore();
+
+        assertNull(cache.get(coverage.getId(), store));
+        cache.put(coverage.getId(), coverage.getName(), store, Collections.singleton(coverage));
+
+        final Collection<IClassCoverage> cached = cache.get(coverage.getId(), store);
+        assertEquals(1, cached.size());
+        ClassCoverageCodecTest.assertClassEquals(coverage, cached.iterator().next());
+        assertTrue(new File(folder.getRoot(), JaCoCo.VERSION).isDirectory());
+    }
+
+    @Test
+    public void unwritableEntryIsSkipped() throws IOException {
+        final IClassCoverage coverage = ClassCoverageCodecTest.analyze(ClassCoverageCodecTest.Sample.class, false);
+        final File notDirectory = folder.newFile();
+        final AnalysisCache cache = new AnalysisCache(notDirectory, new SystemStreamLog());
+        final ExecutionDataStore store = new ExecutionDataStore();
+
+        cache.put(coverage.getId(), coverage.getName(), store, Collections.singleton(coverage));
+        assertNull(cache.get(coverage.getId(), store));
+    }
+}
@@ -0,0 +1,159 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ICoverageVisitor;
+import org.jacoco.core.analysis.IMethodCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.internal.data.CRC64;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public class ClassCoverageCodecTest {
+
+    @Test
+    public void roundTripPreservesCounters() throws IOException {
+        final IClassCoverage original = analyze(Sample.class, true);
+        assertTrue(original.getInstructionCounter().getCoveredCount() > 0);
+        assertTrue(original.getInstructionCounter().getMissedCount() > 0);
+        final IClassCoverage restored = roundTrip(original);
+        assertNotSame(original, restored);
+        assertClassEquals(original, restored);
+    }
+
+    @Test
+    public void roundTripPreservesClassWithoutExecutionData() throws IOException {
+        final IClassCoverage original = analyze(Sample.class, false);
+        assertEquals(0, original.getInstructionCounter().getCoveredCount());
+        assertClassEquals(original, roundTrip(original));
+    }
+
+    static IClassCoverage analyze(final Class<?> type, final boolean covered) throws IOException {
+        final byte[] bytes = readClass(type);
+        final long id = CRC64.checksum(bytes);
+        final String name = type.getName().replace('.', '/');
+
+        final ExecutionDataStore store = new ExecutionDataStore();
+        if (covered) {
+            final boolean[] probes = new boolean[64];
+            for (int i = 0; i < probes.length; i += 2) {
+                probes[i] = true;
+            }
+            store.put(new ExecutionData(id, name, probes));
+        }
+
+        final List<IClassCoverage> result = new ArrayList<>();
+        new Analyzer(store, new ICoverageVisitor() {
+            @Override
+            public void visitCoverage(final IClassCoverage coverage) {
+                result.add(coverage);
+            }
+        }).analyzeClass(bytes, name);
+        assertEquals(1, result.size());
+        return result.get(0);
+    }
+
+    static void assertClassEquals(final IClassCoverage expected, final IClassCoverage actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.isNoMatch(), actual.isNoMatch());
+        assertEquals(expected.getSignature(), actual.getSignature());
+        assertEquals(expected.getSuperName(), actual.getSuperName());
+        assertArrayEquals(expected.getInterfaceNames(), actual.getInterfaceNames());
+        assertEquals(expected.getSourceFileName(), actual.getSourceFileName());
+        assertEquals(expected.getFirstLine(), actual.getFirstLine());
+        assertEquals(expected.getLastLine(), actual.getLastLine());
+        for (final IClassCoverage.CounterEntity entity : IClassCoverage.CounterEntity.values()) {
+            assertCounterEquals(expected.getCounter(entity), actual.getCounter(entity));
+        }
+        for (int nr = expected.getFirstLine(); nr <= expected.getLastLine(); nr++) {
+            assertCounterEquals(expected.getLine(nr).getInstructionCounter(),
+                    actual.getLine(nr).getInstructionCounter());
+            assertCounterEquals(expected.getLine(nr).getBranchCounter(),
+                    actual.getLine(nr).getBranchCounter());
+        }
+
+        assertEquals(expected.getMethods().size(), actual.getMethods().size());
+        final Iterator<IMethodCoverage> methods = actual.getMethods().iterator();
+        for (final IMethodCoverage method : expected.getMethods()) {
+            final IMethodCoverage other = methods.next();
+            assertEquals(method.getName(), other.getName());
+            assertEquals(method.getDesc(), other.getDesc());
+            assertEquals(method.getSignature(), other.getSignature());
+            for (final IClassCoverage.CounterEntity entity : IClassCoverage.CounterEntity.values()) {
+                assertCounterEquals(method.getCounter(entity), other.getCounter(entity));
+            }
+        }
+    }
+
+    private static IClassCoverage roundTrip(final IClassCoverage coverage) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            ClassCoverageCodec.write(out, coverage);
+        }
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final IClassCoverage result = ClassCoverageCodec.read(in, coverage.getId());
+            assertEquals(-1, in.read());
+            return result;
+        }
+    }
+
+    private static void assertCounterEquals(final ICounter expected, final ICounter actual) {
+        assertEquals(expected.getMissedCount(), actual.getMissedCount());
+        assertEquals(expected.getCoveredCount(), actual.getCoveredCount());
+    }
+
+    private static byte[] readClass(final Class<?> type) throws IOException {
+        final String resource = '/' + type.getName().replace('.', '/') + ".class";
+        try (final InputStream in = type.getResourceAsStream(resource)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Class with branches and several methods to analyze.
+     */
+    @SuppressWarnings("unused")
+    static final class Sample implements Comparable<Sample> {
+        private int value;
+
+        int classify(final int x) {
+            if (x < 0) {
+                return -1;
+            } else if (x == 0) {
+                return 0;
+            }
+            return x > value ? 2 : 1;
+        }
+
+        @Override
+        public int compareTo(final Sample other) {
+            return Integer.compare(value, other.value);
+        }
+    }
+}
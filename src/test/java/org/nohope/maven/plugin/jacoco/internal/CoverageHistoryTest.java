@@ -0,0 +1,115 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.jacoco.core.analysis.CoverageNodeImpl;
+import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.internal.analysis.CounterImpl;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public class CoverageHistoryTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void missingStoreHasNoRuns() throws IOException {
+        assertTrue(new CoverageHistory(new File(folder.getRoot(), "history")).read(10).isEmpty());
+    }
+
+    @Test
+    public void runsWithSameTimestampAreKeptApart() throws IOException {
+        final CoverageHistory history = new CoverageHistory(folder.newFile());
+        history.append(1000, node(1, 2), modules("core", node(1, 2)));
+        history.append(1000, node(3, 4), modules("core", node(3, 4)));
+
+        final List<CoverageHistory.Run> runs = history.read(10);
+        assertEquals(2, runs.size());
+        assertArrayEquals(new long[] {1, 2}, runs.get(0).getOverall(ICoverageNode.CounterEntity.INSTRUCTION));
+        assertArrayEquals(new long[] {3, 4}, runs.get(1).getOverall(ICoverageNode.CounterEntity.INSTRUCTION));
+    }
+
+    @Test
+    public void modulesKeepOrderOfRun() throws IOException {
+        final CoverageHistory history = new CoverageHistory(folder.newFile());
+        history.append(1, node(0, 1), modules("a", node(0, 1)));
+        history.append(2, node(0, 3), modules("b", node(0, 1), "c", node(0, 1), "a", node(0, 1)));
+
+        final List<CoverageHistory.Run> runs = history.read(10);
+        assertEquals(Arrays.asList("a"), runs.get(0).getModules());
+        assertEquals(Arrays.asList("b", "c", "a"), runs.get(1).getModules());
+        assertEquals(null, runs.get(0).getModule("b", ICoverageNode.CounterEntity.INSTRUCTION));
+    }
+
+    @Test
+    public void latestRunsAreReadAcrossBlocks() throws IOException {
+        final CoverageHistory history = new CoverageHistory(folder.newFile());
+        for (int run = 0; run < 300; run++) {
+            history.append(run, node(run, 1), modules("a", node(run, 1), "b", node(0, 0)));
+        }
+
+        final List<CoverageHistory.Run> runs = history.read(200);
+        assertEquals(200, runs.size());
+        for (int i = 0; i < runs.size(); i++) {
+            assertEquals(100 + i, runs.get(i).getTimestamp());
+            assertArrayEquals(new long[] {100 + i, 1},
+                    runs.get(i).getModule("a", ICoverageNode.CounterEntity.INSTRUCTION));
+        }
+    }
+
+    @Test
+    public void tornRecordIsCutOffOnAppend() throws IOException {
+        final File file = folder.newFile();
+        final CoverageHistory history = new CoverageHistory(file);
+        history.append(1, node(0, 1), modules("a", node(0, 1)));
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() + 7);
+        }
+        history.append(2, node(0, 2), modules("a", node(0, 2)));
+
+        final List<CoverageHistory.Run> runs = history.read(10);
+        assertEquals(2, runs.size());
+        assertArrayEquals(new long[] {0, 2}, runs.get(1).getModule("a", ICoverageNode.CounterEntity.INSTRUCTION));
+    }
+
+    @Test(expected = IOException.class)
+    public void foreignFileIsRejected() throws IOException {
+        final File file = folder.newFile();
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.write(new byte[64]);
+        }
+        new CoverageHistory(file).read(1);
+    }
+
+    private static ICoverageNode node(final int missed, final int covered) {
+        return new CoverageNodeImpl(ICoverageNode.ElementType.BUNDLE, "node") {
+            {
+                instructionCounter = CounterImpl.getInstance(missed, covered);
+            }
+        };
+    }
+
+    private static Map<String, ICoverageNode> modules(final Object... namesAndNodes) {
+        final Map<String, ICoverageNode> result = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndNodes.length; i += 2) {
+            result.put((String) namesAndNodes[i], (ICoverageNode) namesAndNodes[i + 1]);
+        }
+        return result;
+    }
+}
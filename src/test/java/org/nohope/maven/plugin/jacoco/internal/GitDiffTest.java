@@ -0,0 +1,143 @@
+package org.nohope.maven.plugin.jacoco.internal;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author <a href="mailto:ketoth.xupack@gmail.com">Ketoth Xupack</a>
+ * @since 2026-10-18
+ */
+public class GitDiffTest {
+
+    @Test
+    public void hunksWithAndWithoutCounts() {
+        final Map<String, SortedSet<Integer>> changes = GitDiff.parse(lines(
+                "diff --git a/src/Foo.java b/src/Foo.java",
+                "index de98044..a7bc997 100644",
+                "--- a/src/Foo.java",
+                "+++ b/src/Foo.java",
+                "@@ -2 +2 @@ class Foo {",
+                "-    int a;",
+                "+    int b;",
+                "@@ -5,0 +6,3 @@ class Foo {",
+                "+    void a() {",
+                "+    }",
+                "+",
+                "@@ -10,2 +12,0 @@ class Foo {",
+                "-    void b() {",
+                "-    }"));
+        assertEquals(1, changes.size());
+        assertEquals(set(2, 6, 7, 8), changes.get("src/Foo.java"));
+    }
+
+    @Test
+    public void deletedFileIsLeftOut() {
+        final Map<String, SortedSet<Integer>> changes = GitDiff.parse(lines(
+                "diff --git a/Gone.java b/Gone.java",
+                "deleted file mode 100644",
+                "index 587be6b..0000000",
+                "--- a/Gone.java",
+                "+++ /dev/null",
+                "@@ -1,2 +0,0 @@",
+                "-class Gone {",
+                "-}",
+                "diff --git a/Kept.java b/Kept.java",
+                "index 1111111..2222222 100644",
+                "--- a/Kept.java",
+                "+++ b/Kept.java",
+                "@@ -1 +1 @@",
+                "-class Kept {}",
+                "+final class Kept {}"));
+        assertFalse(changes.containsKey("Gone.java"));
+        assertEquals(set(1), changes.get("Kept.java"));
+    }
+
+    @Test
+    public void fileWithOnlyDeletedLinesHasNoChangedLines() {
+        final Map<String, SortedSet<Integer>> changes = GitDiff.parse(lines(
+                "diff --git a/Foo.java b/Foo.java",
+                "--- a/Foo.java",
+                "+++ b/Foo.java",
+                "@@ -3,2 +2,0 @@",
+                "-    int a;",
+                "-    int b;"));
+        assertTrue(changes.get("Foo.java").isEmpty());
+    }
+
+    @Test
+    public void newFile() {
+        final Map<String, SortedSet<Integer>> changes = GitDiff.parse(lines(
+                "diff --git a/New.java b/New.java",
+                "new file mode 100644",
+                "index 0000000..8a08eba",
+                "--- /dev/null",
+                "+++ b/New.java",
+                "@@ -0,0 +1,2 @@",
+                "+class New {",
+                "+}"));
+        assertEquals(set(1, 2), changes.get("New.java"));
+    }
+
+    @Test
+    public void pathWithSpacesEndsBeforeTab() {
+        final Map<String, SortedSet<Integer>> changes = GitDiff.parse(lines(
+                "diff --git a/my dir/My File.java b/my dir/My File.java",
+                "--- a/my dir/My File.java\t",
+                "+++ b/my dir/My File.java\t",
+                "@@ -3,0 +4 @@",
+                "+    int c;"));
+        assertEquals(set(4), changes.get("my dir/My File.java"));
+    }
+
+    @Test
+    public void quotedPath() {
+        final Map<String, SortedSet<Integer>> changes = GitDiff.parse(lines(
+                "diff --git \"a/\\303\\251\\\"q.java\" \"b/\\303\\251\\\"q.java\"",
+                "--- \"a/\\303\\251\\\"q.java\"",
+                "+++ \"b/\\303\\251\\\"q.java\"",
+                "@@ -1,0 +2 @@",
+                "+x"));
+        assertEquals(set(2), changes.get("é\"q.java"));
+    }
+
+    @Test
+    public void addedLineLookingLikeHeaderIsNotAFile() {
+        final Map<String, SortedSet<Integer>> changes = GitDiff.parse(lines(
+                "diff --git a/notes.txt b/notes.txt",
+                "--- a/notes.txt",
+                "+++ b/notes.txt",
+                "@@ -1,0 +2,2 @@",
+                "+++ b/other.txt",
+                "+@@ -1 +100 @@"));
+        assertEquals(1, changes.size());
+        assertEquals(set(2, 3), changes.get("notes.txt"));
+    }
+
+    @Test
+    public void unquote() {
+        assertEquals("b/plain.java", GitDiff.unquote("b/plain.java"));
+        assertEquals("b/a b.java", GitDiff.unquote("b/a b.java\t"));
+        assertEquals("b/tab\there \\ \"", GitDiff.unquote("\"b/tab\\there \\\\ \\\"\""));
+        assertEquals("b/é x", GitDiff.unquote("\"b/\\303\\251 x\"\t"));
+    }
+
+    private static String lines(final String... lines) {
+        final StringBuilder result = new StringBuilder();
+        for (final String line : lines) {
+            result.append(line).append('\n');
+        }
+        return result.toString();
+    }
+
+    private static SortedSet<Integer> set(final Integer... lines) {
+        return new TreeSet<>(Arrays.asList(lines));
+    }
+}